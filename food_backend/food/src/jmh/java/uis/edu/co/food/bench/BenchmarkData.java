@@ -0,0 +1,87 @@
+package uis.edu.co.food.bench;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import uis.edu.co.food.models.Category;
+import uis.edu.co.food.models.Dish;
+import uis.edu.co.food.repositories.CategoryRepository;
+
+/**
+ * Datos sintéticos para los benchmarks: un catálogo reproducible (semilla fija) con nombres y
+ * descripciones en español, para que la búsqueda y la serialización trabajen con textos realistas.
+ */
+final class BenchmarkData {
+
+    static final String SECRET = "0123456789abcdef0123456789abcdef0123456789";
+
+    static final List<String> CATEGORIES = List.of(
+            "Comida rápida", "Saludable", "Platos fuertes", "Postres", "Bebidas", "Desayunos");
+
+    private static final String[] NAMES = {
+            "Hamburguesa", "Ensalada", "Pollo", "Arepa", "Bandeja", "Sancocho", "Empanada", "Jugo",
+            "Limonada", "Torta", "Helado", "Pizza", "Perro caliente", "Ajiaco", "Tamal", "Patacón" };
+    private static final String[] ADJECTIVES = {
+            "BBQ", "César", "asado", "de queso", "paisa", "de gallina", "de carne", "de mango",
+            "de coco", "de chocolate", "de vainilla", "hawaiana", "especial", "santafereño", "tolimense", "con hogao" };
+    private static final String[] WORDS = {
+            "carne", "res", "cerdo", "pollo", "papas", "salsa", "queso", "maíz", "arroz", "fríjoles",
+            "aguacate", "tomate", "cebolla", "lechuga", "plátano", "huevo", "leche", "azúcar", "fresa", "limón" };
+
+    private BenchmarkData() {
+    }
+
+    static List<Dish> dishes(int size) {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 31, 12, 0);
+        List<Dish> dishes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Dish dish = new Dish();
+            dish.setId(String.format("%024x", i));
+            dish.setName(NAMES[random.nextInt(NAMES.length)] + " " + ADJECTIVES[random.nextInt(ADJECTIVES.length)]);
+            dish.setCategory(CATEGORIES.get(random.nextInt(CATEGORIES.size())));
+            dish.setPrice(5_000 + random.nextInt(60) * 500.0);
+            dish.setDescription(sentence(random, 12));
+            dish.setImageUrl("https://cdn.example.com/dishes/" + i + ".jpg");
+            dish.setIngredientes(List.of(WORDS[random.nextInt(WORDS.length)], WORDS[random.nextInt(WORDS.length)],
+                    WORDS[random.nextInt(WORDS.length)]));
+            dish.setCreatedAt(now.minusDays(random.nextInt(365)));
+            dish.setUpdatedAt(now.minusMinutes(random.nextInt(10_000)));
+            dishes.add(dish);
+        }
+        return dishes;
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(i % 5 == 0 ? " con " : " ");
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    // Repositorio de categorías en memoria: solo findAll, que es lo que usa CategoryRegistry al cargar
+    static CategoryRepository categoryRepository() {
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES.size(); i++) {
+            Category category = new Category();
+            category.setId(String.format("%024x", i));
+            category.setName(CATEGORIES.get(i));
+            categories.add(category);
+        }
+        return (CategoryRepository) Proxy.newProxyInstance(CategoryRepository.class.getClassLoader(),
+                new Class<?>[] { CategoryRepository.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findAll") && method.getParameterCount() == 0) {
+                        return categories;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,77 @@
+package uis.edu.co.food.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uis.edu.co.food.cache.DishCatalogSnapshot;
+import uis.edu.co.food.models.Dish;
+import uis.edu.co.food.search.DishSearchIndex;
+
+/**
+ * Filtrado en memoria del catálogo: búsqueda en el índice invertido (con y sin categoría), filtro por
+ * categoría de la foto y, como referencia, un recorrido lineal con contains sobre nombre y descripción.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DishSearchBenchmark {
+
+    @Param({ "1000", "10000" })
+    public int size;
+
+    @Param({ "pollo", "hamb bbq", "salsa de queso" })
+    public String query;
+
+    private DishCatalogSnapshot snapshot;
+    private DishSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        snapshot = DishCatalogSnapshot.of(1, BenchmarkData.dishes(size));
+        index = snapshot.getSearchIndex();
+    }
+
+    @Benchmark
+    public List<Dish> indexSearch() {
+        return index.search(query, null);
+    }
+
+    @Benchmark
+    public List<Dish> indexSearchInCategory() {
+        return index.search(query, "Comida rápida");
+    }
+
+    @Benchmark
+    public List<Dish> categoryFilter() {
+        return snapshot.getByCategory("Comida rápida");
+    }
+
+    @Benchmark
+    public List<Dish> linearScan() {
+        String needle = query.toLowerCase();
+        return snapshot.getDishes().stream()
+                .filter(dish -> dish.getName().toLowerCase().contains(needle)
+                        || dish.getDescription().toLowerCase().contains(needle))
+                .toList();
+    }
+
+    @Benchmark
+    public DishSearchIndex buildIndex() {
+        return DishSearchIndex.build(snapshot.getDishes());
+    }
+}
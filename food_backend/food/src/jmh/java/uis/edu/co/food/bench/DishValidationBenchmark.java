@@ -0,0 +1,52 @@
+package uis.edu.co.food.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uis.edu.co.food.cache.CategoryRegistry;
+import uis.edu.co.food.dto.DishRequest;
+import uis.edu.co.food.service.DishService;
+
+// Validación de un DishRequest tal como la hace DishService.validateDishRequest: campos + categoría en memoria
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DishValidationBenchmark {
+
+    private CategoryRegistry categoryRegistry;
+    private DishRequest request;
+
+    @Setup
+    public void setUp() {
+        categoryRegistry = new CategoryRegistry(BenchmarkData.categoryRepository());
+        categoryRegistry.findAll(); // carga el registro fuera de la medición
+
+        request = new DishRequest();
+        request.setName("Hamburguesa BBQ");
+        request.setCategory("Comida rápida");
+        request.setPrice(18_500.0);
+        request.setDescription("Carne de res con salsa barbacoa");
+        request.setImageUrl("https://cdn.example.com/dishes/1.jpg");
+        request.setIngredientes(List.of("carne", "pan", "salsa"));
+    }
+
+    @Benchmark
+    public boolean validateDishRequest() {
+        DishService.validateDishFields(request);
+        return categoryRegistry.exists(request.getCategory());
+    }
+}
@@ -0,0 +1,87 @@
+package uis.edu.co.food.load;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import uis.edu.co.food.models.Category;
+import uis.edu.co.food.models.Dish;
+
+/**
+ * Carga un catálogo sintético y reproducible (semilla fija) directamente en MongoDB,
+ * con nombres y descripciones en español para que la búsqueda trabaje con textos realistas.
+ */
+final class CatalogSeeder {
+
+    private static final String[] NAMES = {
+            "Hamburguesa", "Ensalada", "Pollo", "Arepa", "Bandeja", "Sancocho", "Empanada", "Jugo",
+            "Limonada", "Torta", "Helado", "Pizza", "Perro caliente", "Ajiaco", "Tamal", "Patacón" };
+    private static final String[] ADJECTIVES = {
+            "BBQ", "César", "asado", "de queso", "paisa", "de gallina", "de carne", "de mango",
+            "de coco", "de chocolate", "de vainilla", "hawaiana", "especial", "santafereño", "tolimense", "con hogao" };
+    static final String[] WORDS = {
+            "carne", "res", "cerdo", "pollo", "papas", "salsa", "queso", "maíz", "arroz", "fríjoles",
+            "aguacate", "tomate", "cebolla", "lechuga", "plátano", "huevo", "leche", "azúcar", "fresa", "limón" };
+
+    record Catalog(List<String> categories, List<String> dishIds) {
+    }
+
+    private CatalogSeeder() {
+    }
+
+    static Catalog seed(MongoTemplate mongoTemplate, int categoryCount, int dishCount) {
+        Random random = new Random(42);
+
+        List<String> categoryNames = new ArrayList<>();
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < categoryCount; i++) {
+            Category category = new Category();
+            category.setName("Categoría " + (i + 1));
+            categories.add(category);
+            categoryNames.add(category.getName());
+        }
+        mongoTemplate.insertAll(categories);
+
+        List<String> dishIds = new ArrayList<>(dishCount);
+        List<Dish> batch = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < dishCount; i++) {
+            Dish dish = new Dish();
+            dish.setId(new ObjectId().toHexString());
+            dish.setName(NAMES[random.nextInt(NAMES.length)] + " " + ADJECTIVES[random.nextInt(ADJECTIVES.length)]);
+            dish.setCategory(categoryNames.get(random.nextInt(categoryNames.size())));
+            dish.setPrice(5_000 + random.nextInt(60) * 500.0);
+            dish.setDescription(sentence(random, 12));
+            dish.setImageUrl("https://cdn.example.com/dishes/" + i + ".jpg");
+            dish.setIngredientes(List.of(WORDS[random.nextInt(WORDS.length)], WORDS[random.nextInt(WORDS.length)]));
+            dish.setCreatedAt(now.minusDays(random.nextInt(365)));
+            dish.setUpdatedAt(now.minusMinutes(random.nextInt(10_000)));
+            batch.add(dish);
+            dishIds.add(dish.getId());
+
+            if (batch.size() == 500) {
+                mongoTemplate.insertAll(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            mongoTemplate.insertAll(batch);
+        }
+        return new Catalog(categoryNames, dishIds);
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(i % 5 == 0 ? " con " : " ");
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,215 @@
+package uis.edu.co.food.load;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import uis.edu.co.food.FoodApplication;
+
+/**
+ * Prueba de carga de extremo a extremo sin MongoDB externo: levanta FoodApplication contra un servidor
+ * MongoDB en memoria (mongo-java-server), carga un catálogo sintético y lanza tráfico mixto
+ * (lecturas, búsquedas, escrituras y logins). Informa throughput y percentiles por endpoint en JSON.
+ *
+ *   mvn -Ploadtest test-compile exec:java -Dload.main=uis.edu.co.food.load.EmbeddedLoadTest -Dload.report=target/load.json
+ *
+ * Propiedades: load.dishes, load.categories, load.concurrency, load.warmupSeconds, load.durationSeconds,
+ * load.mix (pesos, p. ej. list=30,category=20,search=20,byId=15,page=5,login=5,write=5), load.label,
+ * load.report. Cualquier otra propiedad de la aplicación se puede pasar con -D (p. ej. -Dfood.password.bcrypt.strength=10).
+ * Las latencias incluyen un MongoDB en memoria: sirven para comparar builds entre sí, no con producción.
+ */
+public class EmbeddedLoadTest {
+
+    private static final String DEFAULT_MIX = "list=30,category=20,search=20,byId=15,page=5,login=5,write=5";
+    private static final String USERNAME = "loadtest";
+    private static final String PASSWORD = "loadtest-password";
+
+    public static void main(String[] args) throws Exception {
+        int dishCount = Integer.getInteger("load.dishes", 2000);
+        int categoryCount = Integer.getInteger("load.categories", 10);
+        int concurrency = Integer.getInteger("load.concurrency", 50);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("load.warmupSeconds", 10));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("load.durationSeconds", 30));
+        Map<String, Integer> mix = parseMix(System.getProperty("load.mix", DEFAULT_MIX));
+        String label = System.getProperty("load.label", "embedded");
+        String report = System.getProperty("load.report");
+
+        MongoServer mongo = new MongoServer(new MemoryBackend());
+        InetSocketAddress mongoAddress = mongo.bind();
+
+        // Propiedades de sistema: tienen prioridad sobre variables de entorno, así nunca se usa un MONGO_URI real
+        System.setProperty("spring.data.mongodb.uri",
+                "mongodb://" + mongoAddress.getHostString() + ":" + mongoAddress.getPort());
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        System.setProperty("food.mongo.indexes.verify-plans", "false"); // el servidor en memoria no soporta explain
+        // Crear índices en segundo plano mientras se siembra el catálogo rompe el servidor en memoria
+        System.setProperty("food.mongo.indexes.ensure-on-startup", "false");
+        System.setProperty("food.mongo.migrations.dish-ingredient-keys", "false"); // el catálogo sembrado ya los trae
+        // Todo el tráfico sale de una IP y un usuario: con el límite se mediría el 429
+        System.setProperty("food.rate-limit.enabled", "false");
+
+        ConfigurableApplicationContext context = null;
+        try {
+            // Valores por defecto: las variables de entorno, si existen, tienen prioridad
+            context = new SpringApplicationBuilder(FoodApplication.class)
+                    .properties(
+                            "server.port=0",
+                            "JWT_SECRET=load-test-secret-load-test-secret-load-test-secret",
+                            "JWT_EXP_MS=3600000",
+                            "CORS_ALLOWED_ORIGIN=http://localhost:5173")
+                    .run(args);
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port;
+
+            CatalogSeeder.Catalog catalog = CatalogSeeder.seed(context.getBean(MongoTemplate.class), categoryCount, dishCount);
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            String token = registerAndLogin(client, baseUrl);
+
+            List<LoadDriver.Result> results = LoadDriver.runMixed(concurrency, warmup, duration,
+                    operations(client, baseUrl, token, catalog, mix));
+
+            Map<String, Object> output = new LinkedHashMap<>();
+            output.put("label", label);
+            output.put("timestamp", Instant.now().toString());
+            output.put("javaVersion", System.getProperty("java.version"));
+            output.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+            output.put("dishes", dishCount);
+            output.put("categories", categoryCount);
+            output.put("concurrency", concurrency);
+            output.put("durationSeconds", duration.toSeconds());
+            output.put("mix", mix);
+            output.put("results", results);
+
+            ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            String json = mapper.writeValueAsString(output);
+            System.out.println(json);
+            if (report != null) {
+                Files.writeString(Path.of(report), json);
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            mongo.shutdown();
+        }
+    }
+
+    private static List<LoadDriver.Operation> operations(HttpClient client, String baseUrl, String token,
+                                                         CatalogSeeder.Catalog catalog, Map<String, Integer> mix) {
+        List<String> categories = catalog.categories();
+        List<String> dishIds = catalog.dishIds();
+
+        List<LoadDriver.Operation> operations = new ArrayList<>();
+        mix.forEach((name, weight) -> {
+            if (weight <= 0) {
+                return;
+            }
+            switch (name) {
+                case "list" -> operations.add(new LoadDriver.Operation("GET /api/dishes", weight,
+                        () -> get(client, baseUrl + "/api/dishes")));
+                case "category" -> operations.add(new LoadDriver.Operation("GET /api/dishes?category", weight,
+                        () -> get(client, baseUrl + "/api/dishes?category=" + encode(random(categories)))));
+                case "search" -> operations.add(new LoadDriver.Operation("GET /api/dishes?search", weight,
+                        () -> get(client, baseUrl + "/api/dishes?search=" + encode(random(List.of(CatalogSeeder.WORDS))))));
+                case "byId" -> operations.add(new LoadDriver.Operation("GET /api/dishes/{id}", weight,
+                        () -> get(client, baseUrl + "/api/dishes/" + random(dishIds))));
+                case "page" -> operations.add(new LoadDriver.Operation("GET /api/dishes?limit", weight,
+                        () -> get(client, baseUrl + "/api/dishes?limit=20&sort=-price&category=" + encode(random(categories)))));
+                case "login" -> operations.add(new LoadDriver.Operation("POST /api/auth/login", weight,
+                        () -> send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(credentials()))
+                                .build())));
+                case "write" -> operations.add(new LoadDriver.Operation("PUT /api/dishes/{id}", weight,
+                        () -> send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/api/dishes/" + random(dishIds)))
+                                .header("Content-Type", "application/json")
+                                .header("Authorization", "Bearer " + token)
+                                .PUT(HttpRequest.BodyPublishers.ofString(dishJson(random(categories))))
+                                .build())));
+                default -> throw new IllegalArgumentException("Unknown operation in load.mix: " + name);
+            }
+        });
+        return operations;
+    }
+
+    private static String registerAndLogin(HttpClient client, String baseUrl) throws Exception {
+        HttpRequest register = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(credentials()))
+                .build();
+        client.send(register, HttpResponse.BodyHandlers.discarding());
+
+        HttpRequest login = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(credentials()))
+                .build();
+        String body = client.send(login, HttpResponse.BodyHandlers.ofString()).body();
+        return new ObjectMapper().readTree(body).get("token").asText();
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid load.mix entry: " + entry);
+            }
+            weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static int get(HttpClient client, String url) throws Exception {
+        return send(client, HttpRequest.newBuilder(URI.create(url)).header("Accept-Encoding", "gzip").GET().build());
+    }
+
+    private static int send(HttpClient client, HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static String credentials() {
+        return "{\"username\":\"" + USERNAME + "\",\"password\":\"" + PASSWORD + "\"}";
+    }
+
+    private static String dishJson(String category) {
+        return "{\"name\":\"Plato editado " + ThreadLocalRandom.current().nextInt(1000) + "\",\"category\":\"" + category
+                + "\",\"price\":12000,\"description\":\"Editado durante la prueba de carga\","
+                + "\"imageUrl\":\"https://cdn.example.com/dishes/edit.jpg\",\"ingredientes\":[\"sal\"]}";
+    }
+
+    private static <T> T random(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,69 @@
+package uis.edu.co.food.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Benchmark de carga contra una instancia ya levantada: mide GET /api/dishes y POST /api/auth/login
+ * a alta concurrencia. Se usa para comparar el modo por defecto (hilos de plataforma) con el perfil "virtual".
+ *
+ *   mvn -Ploadtest test-compile exec:java -Dload.label=platform -Dload.concurrency=400
+ *
+ * Propiedades: load.baseUrl, load.concurrency, load.warmupSeconds, load.durationSeconds,
+ * load.username, load.password, load.label, load.report (fichero JSON de salida).
+ */
+public class HttpLoadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("load.baseUrl", "http://localhost:8080");
+        int concurrency = Integer.getInteger("load.concurrency", 200);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("load.warmupSeconds", 5));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("load.durationSeconds", 30));
+        String username = System.getProperty("load.username", "admin");
+        String password = System.getProperty("load.password", "admin");
+        String label = System.getProperty("load.label", "default");
+        String report = System.getProperty("load.report");
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        HttpRequest dishes = HttpRequest.newBuilder(URI.create(baseUrl + "/api/dishes")).GET().build();
+        HttpRequest login = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+                .build();
+
+        List<LoadDriver.Result> results = new ArrayList<>();
+        results.add(LoadDriver.run("GET /api/dishes", concurrency, warmup, duration,
+                () -> client.send(dishes, HttpResponse.BodyHandlers.discarding()).statusCode()));
+        results.add(LoadDriver.run("POST /api/auth/login", concurrency, warmup, duration,
+                () -> client.send(login, HttpResponse.BodyHandlers.discarding()).statusCode()));
+
+        Map<String, Object> output = new LinkedHashMap<>();
+        output.put("label", label);
+        output.put("baseUrl", baseUrl);
+        output.put("javaVersion", System.getProperty("java.version"));
+        output.put("results", results);
+
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        String json = mapper.writeValueAsString(output);
+        System.out.println(json);
+        if (report != null) {
+            Files.writeString(Path.of(report), json);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package uis.edu.co.food.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ejecuta peticiones en bucle desde N hilos durante un tiempo fijo y mide la latencia de cada llamada.
+ * La petición devuelve el código HTTP: 2xx/3xx cuenta como correcta, 429 como rechazada y el resto como error.
+ * Con varias operaciones, cada hilo elige la siguiente al azar según su peso y se informa de cada una por separado.
+ */
+public final class LoadDriver {
+
+    public record Result(String endpoint, int concurrency, long requests, long rejected, long errors,
+                         double throughputRps, double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+    }
+
+    public record Operation(String endpoint, int weight, Callable<Integer> request) {
+    }
+
+    private LoadDriver() {
+    }
+
+    public static Result run(String endpoint, int concurrency, Duration warmup, Duration duration,
+                             Callable<Integer> request) throws InterruptedException {
+        return runMixed(concurrency, warmup, duration, List.of(new Operation(endpoint, 1, request))).get(0);
+    }
+
+    // Tráfico mixto: un resultado por operación, en el mismo orden
+    public static List<Result> runMixed(int concurrency, Duration warmup, Duration duration,
+                                        List<Operation> operations) throws InterruptedException {
+        if (!warmup.isZero()) {
+            measure(concurrency, warmup, operations);
+        }
+        return measure(concurrency, duration, operations);
+    }
+
+    private static List<Result> measure(int concurrency, Duration duration,
+                                        List<Operation> operations) throws InterruptedException {
+        int[] cumulativeWeights = new int[operations.size()];
+        int totalWeight = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            totalWeight += operations.get(i).weight();
+            cumulativeWeights[i] = totalWeight;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        List<Worker> workers = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        for (int i = 0; i < concurrency; i++) {
+            Worker worker = new Worker(operations, cumulativeWeights, start, deadline);
+            workers.add(worker);
+            pool.execute(worker);
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        pool.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        double elapsedSeconds = (System.nanoTime() - begin) / 1e9;
+
+        List<Result> results = new ArrayList<>();
+        for (int op = 0; op < operations.size(); op++) {
+            long rejected = 0;
+            long errors = 0;
+            int total = 0;
+            for (Worker worker : workers) {
+                Stats stats = worker.stats[op];
+                rejected += stats.rejected;
+                errors += stats.errors;
+                total += stats.count;
+            }
+
+            long[] latencies = new long[total];
+            int offset = 0;
+            for (Worker worker : workers) {
+                Stats stats = worker.stats[op];
+                System.arraycopy(stats.latencies, 0, latencies, offset, stats.count);
+                offset += stats.count;
+            }
+            Arrays.sort(latencies);
+
+            results.add(new Result(operations.get(op).endpoint(), concurrency, total, rejected, errors,
+                    total / elapsedSeconds,
+                    percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                    latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6));
+        }
+        return results;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    private static final class Stats {
+        long[] latencies = new long[1024];
+        int count;
+        long rejected;
+        long errors;
+    }
+
+    private static final class Worker implements Runnable {
+
+        private final List<Operation> operations;
+        private final int[] cumulativeWeights;
+        private final CountDownLatch start;
+        private final long deadline;
+        private final Stats[] stats;
+
+        Worker(List<Operation> operations, int[] cumulativeWeights, CountDownLatch start, long deadline) {
+            this.operations = operations;
+            this.cumulativeWeights = cumulativeWeights;
+            this.start = start;
+            this.deadline = deadline;
+            this.stats = new Stats[operations.size()];
+            for (int i = 0; i < stats.length; i++) {
+                stats[i] = new Stats();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            int totalWeight = cumulativeWeights[cumulativeWeights.length - 1];
+            while (System.nanoTime() < deadline) {
+                int op = pick(ThreadLocalRandom.current().nextInt(totalWeight));
+                long t0 = System.nanoTime();
+                int status;
+                try {
+                    status = operations.get(op).request().call();
+                } catch (Exception e) {
+                    status = -1;
+                }
+                long latency = System.nanoTime() - t0;
+
+                Stats current = stats[op];
+                if (status == 429) {
+                    current.rejected++;
+                } else if (status < 200 || status >= 400) {
+                    current.errors++;
+                }
+                if (current.count == current.latencies.length) {
+                    current.latencies = Arrays.copyOf(current.latencies, current.count * 2);
+                }
+                current.latencies[current.count++] = latency;
+            }
+        }
+
+        private int pick(int ticket) {
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (ticket < cumulativeWeights[i]) {
+                    return i;
+                }
+            }
+            return cumulativeWeights.length - 1;
+        }
+    }
+}
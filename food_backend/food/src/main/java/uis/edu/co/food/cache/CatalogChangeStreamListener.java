@@ -0,0 +1,355 @@
+package uis.edu.co.food.cache;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Subscription;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import uis.edu.co.food.models.Dish;
+
+/**
+ * Mantiene coherentes las cachés locales entre instancias escuchando change streams de "dishes" y "categories"
+ * (requiere replica set; se activa con food.change-streams.enabled=true).
+ *
+ * Los cambios de platos se aplican de forma incremental en DishCatalogCache (y en las facetas), agrupados cada flush-interval;
+ * las categorías son pocas y cualquier cambio invalida el CategoryRegistry. Tras aplicar cada lote se guarda
+ * el resume token en "change_stream_tokens" (uno por instancia y colección): al reiniciar, el stream continúa
+ * desde ahí y repite lo que pasó mientras tanto, en lugar de empezar en "ahora" y perder esos cambios.
+ * Repetir eventos no hace daño porque la caché ignora versiones de un plato iguales o anteriores a la que tiene.
+ *
+ * Si el stream se corta se reanuda desde el último token; si MongoDB ya no puede reanudar (token caducado
+ * en el oplog o inválido) se descarta el token y se recargan las cachés completas.
+ */
+@Component
+@ConditionalOnProperty(name = "food.change-streams.enabled", havingValue = "true")
+public class CatalogChangeStreamListener implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogChangeStreamListener.class);
+
+    static final String TOKENS_COLLECTION = "change_stream_tokens";
+
+    // InvalidResumeToken, ChangeStreamFatalError, ChangeStreamHistoryLost
+    private static final Set<Integer> RESUME_FAILURES = Set.of(260, 280, 286);
+    private static final long MAX_RETRY_DELAY_MS = 60_000;
+
+    private final MongoTemplate mongoTemplate;
+    private final DishCatalogCache catalogCache;
+    private final DishFacetAggregates facetAggregates;
+    private final CategoryRegistry categoryRegistry;
+    private final String instanceId;
+    private final Duration flushInterval;
+    private final Duration retryDelay;
+    private final MeterRegistry meterRegistry;
+
+    private final WatchedCollection dishes;
+    private final WatchedCollection categories;
+
+    // Cambios recibidos y aún no aplicados (null = plato borrado); protegidos por el monitor de pending
+    private final Object pending = new Object();
+    private Map<String, Dish> pendingDishes = new HashMap<>();
+    private boolean pendingCategories;
+
+    private MessageListenerContainer container;
+    private ScheduledExecutorService scheduler;
+
+    // Estado de cada stream: último token recibido, último aplicado a la caché y último guardado
+    private final class WatchedCollection {
+        final String collection;
+        final Counter events;
+        Subscription subscription;
+        int failures; // Reintentos seguidos sin recibir eventos (para espaciar los reintentos)
+        BsonDocument receivedToken;
+        BsonDocument appliedToken;
+        BsonDocument savedToken;
+
+        WatchedCollection(String collection) {
+            this.collection = collection;
+            this.events = Counter.builder("food.change-streams.events")
+                    .tag("collection", collection)
+                    .description("Eventos recibidos por change stream")
+                    .register(meterRegistry);
+        }
+
+        String key() {
+            return instanceId + ":" + collection;
+        }
+    }
+
+    public CatalogChangeStreamListener(MongoTemplate mongoTemplate, DishCatalogCache catalogCache,
+                                       DishFacetAggregates facetAggregates,
+                                       CategoryRegistry categoryRegistry, MeterRegistry meterRegistry,
+                                       @Value("${food.change-streams.instance-id:${HOSTNAME:food}}") String instanceId,
+                                       @Value("${food.change-streams.flush-interval:500ms}") Duration flushInterval,
+                                       @Value("${food.change-streams.retry-delay:2s}") Duration retryDelay) {
+        this.mongoTemplate = mongoTemplate;
+        this.catalogCache = catalogCache;
+        this.facetAggregates = facetAggregates;
+        this.categoryRegistry = categoryRegistry;
+        this.meterRegistry = meterRegistry;
+        this.instanceId = instanceId;
+        this.flushInterval = flushInterval;
+        this.retryDelay = retryDelay;
+        this.dishes = new WatchedCollection("dishes");
+        this.categories = new WatchedCollection("categories");
+    }
+
+    @Override
+    public synchronized void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-change-streams");
+            thread.setDaemon(true);
+            return thread;
+        });
+        container = new DefaultMessageListenerContainer(mongoTemplate);
+        container.start();
+
+        // Leer los tokens requiere MongoDB: se hace fuera del arranque para no bloquearlo
+        scheduler.execute(() -> subscribe(dishes, true));
+        scheduler.execute(() -> subscribe(categories, true));
+        scheduler.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (container == null) {
+            return;
+        }
+        container.stop();
+        container = null;
+        scheduler.shutdownNow();
+        scheduler = null;
+        flush(); // Aplica y guarda lo último recibido
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return container != null && container.isRunning();
+    }
+
+    private synchronized void subscribe(WatchedCollection stream, boolean resume) {
+        if (container == null) {
+            return;
+        }
+        try {
+            BsonDocument token = null;
+            if (resume) {
+                token = stream.receivedToken != null ? stream.receivedToken : loadToken(stream);
+            }
+
+            if ("dishes".equals(stream.collection)) {
+                ChangeStreamRequest.ChangeStreamRequestBuilder<Dish> request = ChangeStreamRequest.<Dish>builder()
+                        .collection(stream.collection)
+                        .fullDocumentLookup(FullDocument.UPDATE_LOOKUP)
+                        .publishTo(this::onDishChange);
+                if (token != null) {
+                    request.resumeAfter(token);
+                }
+                stream.subscription = container.register(request.build(), Dish.class, error -> onError(stream, error));
+            } else {
+                ChangeStreamRequest.ChangeStreamRequestBuilder<Document> request = ChangeStreamRequest.<Document>builder()
+                        .collection(stream.collection)
+                        .publishTo(this::onCategoryChange);
+                if (token != null) {
+                    request.resumeAfter(token);
+                }
+                stream.subscription = container.register(request.build(), Document.class, error -> onError(stream, error));
+            }
+            log.info("Change stream de {} iniciado ({})", stream.collection, token != null ? "reanudado desde token" : "desde ahora");
+        } catch (RuntimeException e) {
+            log.warn("No se pudo iniciar el change stream de {}: {}", stream.collection, e.getMessage());
+            scheduleRestart(stream, resume);
+        }
+    }
+
+    private void onDishChange(Message<ChangeStreamDocument<Document>, Dish> message) {
+        ChangeStreamDocument<Document> event = message.getRaw();
+        dishes.events.increment();
+        synchronized (pending) {
+            switch (event.getOperationType()) {
+                case INSERT, UPDATE, REPLACE -> {
+                    // Con UPDATE_LOOKUP el documento puede faltar si se borró después; llegará su DELETE
+                    Dish dish = message.getBody();
+                    if (dish != null) {
+                        pendingDishes.put(dish.getId(), dish);
+                    }
+                }
+                case DELETE -> pendingDishes.put(documentId(event), null);
+                default -> {
+                    // drop, rename, invalidate...: no se sabe qué cambió
+                    pendingDishes.clear();
+                    catalogCache.invalidate();
+                    facetAggregates.invalidate();
+                }
+            }
+            dishes.receivedToken = event.getResumeToken();
+            dishes.failures = 0;
+        }
+    }
+
+    private void onCategoryChange(Message<ChangeStreamDocument<Document>, Document> message) {
+        categories.events.increment();
+        synchronized (pending) {
+            pendingCategories = true;
+            categories.receivedToken = message.getRaw().getResumeToken();
+            categories.failures = 0;
+        }
+    }
+
+    private static String documentId(ChangeStreamDocument<Document> event) {
+        BsonValue id = event.getDocumentKey() == null ? null : event.getDocumentKey().get("_id");
+        if (id == null) {
+            return null;
+        }
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+    }
+
+    // Aplica los cambios acumulados y guarda los tokens de lo ya aplicado
+    private void flush() {
+        Map<String, Dish> dishChanges;
+        boolean categoriesChanged;
+        synchronized (pending) {
+            dishChanges = pendingDishes;
+            categoriesChanged = pendingCategories;
+            pendingDishes = new HashMap<>();
+            pendingCategories = false;
+            dishes.appliedToken = dishes.receivedToken;
+            categories.appliedToken = categories.receivedToken;
+        }
+
+        dishChanges.remove(null);
+        if (!dishChanges.isEmpty()) {
+            catalogCache.applyChanges(dishChanges);
+            facetAggregates.applyChanges(dishChanges);
+        }
+        if (categoriesChanged) {
+            categoryRegistry.invalidate();
+        }
+        saveToken(dishes);
+        saveToken(categories);
+    }
+
+    private void onError(WatchedCollection stream, Throwable error) {
+        boolean resumable = !isResumeFailure(error);
+        log.warn("Change stream de {} interrumpido ({}): {}", stream.collection,
+                resumable ? "se reanuda desde el último token" : "no se puede reanudar, recarga completa", error.getMessage());
+        scheduleRestart(stream, resumable);
+    }
+
+    private synchronized void scheduleRestart(WatchedCollection stream, boolean resume) {
+        if (scheduler == null) {
+            return;
+        }
+        Counter.builder("food.change-streams.restarts")
+                .tag("collection", stream.collection)
+                .tag("mode", resume ? "resume" : "refresh")
+                .register(meterRegistry)
+                .increment();
+        // retry-delay, el doble en cada fallo seguido, hasta un minuto
+        long delay = Math.min(retryDelay.toMillis() << Math.min(stream.failures++, 10), MAX_RETRY_DELAY_MS);
+        scheduler.schedule(() -> restart(stream, resume), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void restart(WatchedCollection stream, boolean resume) {
+        if (container == null) {
+            return;
+        }
+        if (stream.subscription != null) {
+            container.remove(stream.subscription);
+            stream.subscription = null;
+        }
+        if (!resume) {
+            // Se perdieron eventos: se descarta el token y la caché se recarga entera en la siguiente lectura
+            synchronized (pending) {
+                stream.receivedToken = null;
+                stream.appliedToken = null;
+                if ("dishes".equals(stream.collection)) {
+                    pendingDishes.clear();
+                    catalogCache.invalidate();
+                    facetAggregates.invalidate();
+                } else {
+                    pendingCategories = false;
+                    categoryRegistry.invalidate();
+                }
+            }
+            deleteToken(stream);
+        }
+        subscribe(stream, resume);
+    }
+
+    private static boolean isResumeFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException mongo && RESUME_FAILURES.contains(mongo.getCode())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private BsonDocument loadToken(WatchedCollection stream) {
+        Document stored = mongoTemplate.getCollection(TOKENS_COLLECTION)
+                .find(Filters.eq("_id", stream.key()))
+                .first();
+        if (stored == null || stored.getString("token") == null) {
+            return null;
+        }
+        BsonDocument token = new BsonDocument("_data", new BsonString(stored.getString("token")));
+        stream.savedToken = token;
+        return token;
+    }
+
+    private void saveToken(WatchedCollection stream) {
+        BsonDocument token = stream.appliedToken;
+        if (token == null || token.equals(stream.savedToken) || !token.containsKey("_data")) {
+            return;
+        }
+        try {
+            mongoTemplate.getCollection(TOKENS_COLLECTION).replaceOne(
+                    Filters.eq("_id", stream.key()),
+                    new Document("_id", stream.key())
+                            .append("token", token.getString("_data").getValue())
+                            .append("savedAt", new Date()),
+                    new ReplaceOptions().upsert(true));
+            stream.savedToken = token;
+        } catch (RuntimeException e) {
+            log.debug("No se pudo guardar el resume token de {}: {}", stream.collection, e.getMessage());
+        }
+    }
+
+    private void deleteToken(WatchedCollection stream) {
+        try {
+            mongoTemplate.getCollection(TOKENS_COLLECTION).deleteOne(Filters.eq("_id", stream.key()));
+            stream.savedToken = null;
+        } catch (RuntimeException e) {
+            log.debug("No se pudo borrar el resume token de {}: {}", stream.collection, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package uis.edu.co.food.cache;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import uis.edu.co.food.models.Category;
+import uis.edu.co.food.repositories.CategoryRepository;
+
+/**
+ * Registro en memoria de las categorías (son pocas y cambian poco).
+ * Permite validar nombres de categoría sin consultar MongoDB. Se carga en el primer uso y
+ * se mantiene al día desde CategoryService (y opcionalmente desde un change stream).
+ */
+@Component
+public class CategoryRegistry {
+
+    private final CategoryRepository categoryRepository;
+
+    // id -> categoría y nombres existentes; se reemplazan juntos al recargar
+    private volatile State state;
+    private final AtomicLong version = new AtomicLong();
+    private final Object loadLock = new Object();
+    // Protegido por this; cambia con cada escritura para no publicar una carga que se cruzó con ella
+    private long generation;
+
+    private static final class State {
+        final Map<String, Category> byId = new ConcurrentHashMap<>();
+        final Set<String> names = ConcurrentHashMap.newKeySet();
+
+        State(Collection<Category> categories) {
+            categories.forEach(this::add);
+        }
+
+        void add(Category category) {
+            Category previous = byId.put(category.getId(), category);
+            // Documentos sin nombre (guardados a mano o por versiones antiguas) no validan ningún plato
+            if (previous != null && previous.getName() != null && !Objects.equals(previous.getName(), category.getName())) {
+                names.remove(previous.getName());
+            }
+            if (category.getName() != null) {
+                names.add(category.getName());
+            }
+        }
+
+        void remove(String id) {
+            Category previous = byId.remove(id);
+            if (previous != null && previous.getName() != null) {
+                names.remove(previous.getName());
+            }
+        }
+    }
+
+    public CategoryRegistry(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    private State state() {
+        State current = state;
+        if (current != null) {
+            return current;
+        }
+        synchronized (loadLock) {
+            while (true) {
+                long observed;
+                synchronized (this) {
+                    if (state != null) {
+                        return state;
+                    }
+                    observed = generation;
+                }
+
+                State loaded = new State(categoryRepository.findAll());
+
+                synchronized (this) {
+                    // Si hubo escrituras durante la carga puede faltar (o sobrar) una categoría: se vuelve a cargar
+                    if (generation == observed) {
+                        state = loaded;
+                        version.incrementAndGet();
+                        return loaded;
+                    }
+                }
+            }
+        }
+    }
+
+    public boolean exists(String name) {
+        return name != null && state().names.contains(name);
+    }
+
+    // null si no existe; la instancia es compartida, no modificarla
+    public Category findById(String id) {
+        return id == null ? null : state().byId.get(id);
+    }
+
+    public List<Category> findAll() {
+        // Orden por id (ObjectId crece con la fecha de creación), como devuelve MongoDB
+        return state().byId.values().stream()
+                .sorted(Comparator.comparing(Category::getId))
+                .toList();
+    }
+
+    // Versión que cambia con cada modificación (útil para ETags)
+    public long version() {
+        state();
+        return version.get();
+    }
+
+    public synchronized void put(Category category) {
+        generation++;
+        if (state != null) {
+            state.add(category);
+        }
+        version.incrementAndGet();
+    }
+
+    public synchronized void remove(String id) {
+        generation++;
+        if (state != null) {
+            state.remove(id);
+        }
+        version.incrementAndGet();
+    }
+
+    // Descarta el registro; el siguiente uso lo recarga desde MongoDB
+    public synchronized void invalidate() {
+        generation++;
+        state = null;
+        version.incrementAndGet();
+    }
+}
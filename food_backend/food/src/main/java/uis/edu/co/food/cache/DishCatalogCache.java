@@ -0,0 +1,124 @@
+package uis.edu.co.food.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import uis.edu.co.food.models.Dish;
+import uis.edu.co.food.repositories.DishRepository;
+
+/**
+ * Caché en memoria del catálogo de platos.
+ * La foto se carga perezosamente en la primera lectura y se reemplaza de forma atómica
+ * (copy-on-write) cada vez que el servicio crea, actualiza o elimina un plato.
+ */
+@Component
+public class DishCatalogCache {
+
+    private final DishRepository dishRepository;
+
+    private final AtomicReference<DishCatalogSnapshot> current = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    // Se incrementa en cada escritura: una carga que se cruza con una escritura no se publica
+    private final AtomicLong generation = new AtomicLong();
+    private final Object loadLock = new Object();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer rebuilds;
+
+    public DishCatalogCache(DishRepository dishRepository, MeterRegistry registry) {
+        this.dishRepository = dishRepository;
+        this.hits = Counter.builder("food.catalog.cache.requests")
+                .tag("result", "hit")
+                .description("Lecturas del catálogo servidas desde memoria")
+                .register(registry);
+        this.misses = Counter.builder("food.catalog.cache.requests")
+                .tag("result", "miss")
+                .description("Lecturas del catálogo que requirieron cargar desde MongoDB")
+                .register(registry);
+        this.rebuilds = Timer.builder("food.catalog.cache.rebuilds")
+                .description("Cargas completas del catálogo desde MongoDB")
+                .register(registry);
+        Gauge.builder("food.catalog.cache.version", current, ref -> ref.get() == null ? 0 : ref.get().getVersion())
+                .register(registry);
+        Gauge.builder("food.catalog.cache.size", current, ref -> ref.get() == null ? 0 : ref.get().size())
+                .register(registry);
+    }
+
+    // Devuelve la foto vigente, cargándola desde MongoDB si no existe
+    public DishCatalogSnapshot snapshot() {
+        DishCatalogSnapshot snapshot = current.get();
+        if (snapshot != null) {
+            hits.increment();
+            return snapshot;
+        }
+
+        synchronized (loadLock) {
+            snapshot = current.get();
+            if (snapshot != null) {
+                hits.increment();
+                return snapshot;
+            }
+            misses.increment();
+            return load();
+        }
+    }
+
+    // Plato en la foto vigente, sin cargarla si no existe (p. ej. para auditar el valor anterior)
+    public Dish peek(String id) {
+        DishCatalogSnapshot snapshot = current.get();
+        return snapshot == null ? null : snapshot.getById(id);
+    }
+
+    // Cambia con cada escritura aunque la foto no esté cargada (ETag de las páginas, que no la usan)
+    public long generation() {
+        return generation.get();
+    }
+
+    private DishCatalogSnapshot load() {
+        long observed = generation.get();
+        List<Dish> dishes = rebuilds.record(() -> dishRepository.findAll());
+        DishCatalogSnapshot loaded = DishCatalogSnapshot.of(versions.incrementAndGet(), dishes);
+
+        // Si hubo escrituras durante la carga, se sirve el resultado pero no se publica
+        if (generation.get() == observed) {
+            current.compareAndSet(null, loaded);
+        }
+        return loaded;
+    }
+
+    // Write-through tras guardar un plato
+    public void put(Dish dish) {
+        apply(snapshot -> snapshot.withDish(versions.incrementAndGet(), dish));
+    }
+
+    // Write-through tras eliminar un plato
+    public void remove(String id) {
+        apply(snapshot -> snapshot.withoutDish(versions.incrementAndGet(), id));
+    }
+
+    // Cambios hechos por otras instancias (change stream): id -> plato, o null si se borró
+    public void applyChanges(Map<String, Dish> changes) {
+        apply(snapshot -> snapshot.withChanges(versions.incrementAndGet(), changes));
+    }
+
+    // Descarta la foto; la siguiente lectura la recarga completa
+    public void invalidate() {
+        generation.incrementAndGet();
+        current.set(null);
+    }
+
+    private void apply(UnaryOperator<DishCatalogSnapshot> change) {
+        generation.incrementAndGet();
+        current.updateAndGet(snapshot -> snapshot == null ? null : change.apply(snapshot));
+    }
+}
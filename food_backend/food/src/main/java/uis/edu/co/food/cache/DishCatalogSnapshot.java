@@ -0,0 +1,145 @@
+package uis.edu.co.food.cache;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import uis.edu.co.food.models.Dish;
+import uis.edu.co.food.search.DishIngredientIndex;
+import uis.edu.co.food.search.DishSearchIndex;
+
+/**
+ * Foto inmutable y versionada del catálogo de platos.
+ * Las instancias de Dish que contiene son compartidas entre peticiones: no se deben modificar.
+ */
+public final class DishCatalogSnapshot {
+
+    private final long version;
+    private final Instant loadedAt;
+    private final List<Dish> dishes;
+    private final Map<String, Dish> byId;
+    private final Map<String, List<Dish>> byCategory;
+    // Se construye en la primera búsqueda sobre esta versión
+    private volatile DishSearchIndex searchIndex;
+    // Igual que el de búsqueda: solo si se filtra por ingredientes o precio
+    private volatile DishIngredientIndex ingredientIndex;
+
+    private DishCatalogSnapshot(long version, Instant loadedAt, Collection<Dish> source) {
+        Map<String, Dish> ids = new LinkedHashMap<>();
+        for (Dish dish : source) {
+            ids.put(dish.getId(), dish);
+        }
+
+        Map<String, List<Dish>> categories = new LinkedHashMap<>();
+        for (Dish dish : ids.values()) {
+            categories.computeIfAbsent(dish.getCategory(), k -> new ArrayList<>()).add(dish);
+        }
+        categories.replaceAll((k, v) -> Collections.unmodifiableList(v));
+
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.dishes = List.copyOf(ids.values());
+        this.byId = Collections.unmodifiableMap(ids);
+        this.byCategory = Collections.unmodifiableMap(categories);
+    }
+
+    public static DishCatalogSnapshot of(long version, Collection<Dish> dishes) {
+        return new DishCatalogSnapshot(version, Instant.now(), dishes);
+    }
+
+    // Nueva versión con el plato insertado o reemplazado
+    public DishCatalogSnapshot withDish(long newVersion, Dish dish) {
+        return withChanges(newVersion, Map.of(dish.getId(), dish));
+    }
+
+    // Nueva versión sin el plato indicado
+    public DishCatalogSnapshot withoutDish(long newVersion, String id) {
+        return withChanges(newVersion, Collections.singletonMap(id, null));
+    }
+
+    /**
+     * Aplica varios cambios a la vez (id -> plato, o null si se borró) con una sola copia.
+     * Se ignoran los que no cambian nada: borrar un plato que no está o recibir una versión
+     * igual o anterior a la que ya se tiene. Si no queda ninguno se devuelve la misma foto.
+     */
+    public DishCatalogSnapshot withChanges(long newVersion, Map<String, Dish> changes) {
+        Map<String, Dish> copy = null;
+        for (Map.Entry<String, Dish> change : changes.entrySet()) {
+            Dish existing = byId.get(change.getKey());
+            Dish dish = change.getValue();
+            if (dish == null ? existing == null : isNotNewer(dish, existing)) {
+                continue;
+            }
+            if (copy == null) {
+                copy = new LinkedHashMap<>(byId);
+            }
+            if (dish == null) {
+                copy.remove(change.getKey());
+            } else {
+                copy.put(change.getKey(), dish);
+            }
+        }
+        return copy == null ? this : new DishCatalogSnapshot(newVersion, Instant.now(), copy.values());
+    }
+
+    private static boolean isNotNewer(Dish dish, Dish existing) {
+        return existing != null && existing.getVersion() != null && dish.getVersion() != null
+                && existing.getVersion() >= dish.getVersion();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public List<Dish> getDishes() {
+        return dishes;
+    }
+
+    public Dish getById(String id) {
+        return byId.get(id);
+    }
+
+    public List<Dish> getByCategory(String category) {
+        return byCategory.getOrDefault(category, List.of());
+    }
+
+    public DishSearchIndex getSearchIndex() {
+        DishSearchIndex index = searchIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = searchIndex;
+                if (index == null) {
+                    index = DishSearchIndex.build(dishes);
+                    searchIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    public DishIngredientIndex getIngredientIndex() {
+        DishIngredientIndex index = ingredientIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = ingredientIndex;
+                if (index == null) {
+                    index = DishIngredientIndex.build(dishes);
+                    ingredientIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    public int size() {
+        return dishes.size();
+    }
+}
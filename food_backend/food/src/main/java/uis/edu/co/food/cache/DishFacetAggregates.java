@@ -0,0 +1,273 @@
+package uis.edu.co.food.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import uis.edu.co.food.dto.DishFacets;
+import uis.edu.co.food.models.Dish;
+import uis.edu.co.food.repositories.DishPriceCount;
+import uis.edu.co.food.repositories.DishRepository;
+
+/**
+ * Facetas del menú (platos por categoría, precio mínimo/máximo/medio e histograma de precios).
+ * Se calculan con una agregación en MongoDB que solo devuelve cuántos platos hay por (categoría, precio).
+ * Tras la primera escritura se cargan además la categoría y el precio de cada plato (con un cursor) y
+ * desde ahí cada alta, cambio o baja ajusta solo los contadores de su categoría.
+ */
+@Component
+public class DishFacetAggregates {
+
+    private final DishRepository dishRepository;
+    private final double bucketWidth;
+
+    private static final int STREAM_BATCH_SIZE = 1000;
+
+    private final Object loadLock = new Object();
+    // Protegidos por this; aggregates es null mientras no se haya cargado
+    private Aggregates aggregates;
+    private long generation;
+    // Hubo escrituras: para aplicarlas una a una hace falta saber qué aportó cada plato
+    private boolean tracking;
+    private volatile DishFacets cached;
+
+    public DishFacetAggregates(
+            DishRepository dishRepository,
+            @Value("${food.dishes.facets.price-bucket-width:5000}") double bucketWidth) {
+        if (bucketWidth <= 0) {
+            throw new IllegalArgumentException("food.dishes.facets.price-bucket-width must be positive");
+        }
+        this.dishRepository = dishRepository;
+        this.bucketWidth = bucketWidth;
+    }
+
+    // Facetas de todo el catálogo
+    public DishFacets facets() {
+        DishFacets result = cached;
+        if (result != null) {
+            return result;
+        }
+
+        synchronized (loadLock) {
+            long observed;
+            boolean perDish;
+            synchronized (this) {
+                if (aggregates != null) {
+                    cached = aggregates.toFacets();
+                    return cached;
+                }
+                observed = generation;
+                perDish = tracking;
+            }
+
+            Aggregates loaded = perDish ? loadPerDish() : loadCounts();
+
+            synchronized (this) {
+                // Si hubo escrituras durante la agregación, se responde con ella pero no se publica
+                if (generation != observed) {
+                    return loaded.toFacets();
+                }
+                aggregates = loaded;
+                cached = loaded.toFacets();
+                return cached;
+            }
+        }
+    }
+
+    private Aggregates loadCounts() {
+        Aggregates loaded = new Aggregates(bucketWidth, false);
+        for (DishPriceCount group : dishRepository.countByCategoryAndPrice()) {
+            loaded.addCount(group.category(), group.price(), group.count());
+        }
+        return loaded;
+    }
+
+    private Aggregates loadPerDish() {
+        Aggregates loaded = new Aggregates(bucketWidth, true);
+        try (Stream<Dish> dishes = dishRepository.streamPrices(STREAM_BATCH_SIZE)) {
+            dishes.forEach(dish -> loaded.add(dish.getId(), dish.getCategory(), dish.getPrice()));
+        }
+        return loaded;
+    }
+
+    // Facetas de un subconjunto ya filtrado (p. ej. el resultado de una búsqueda)
+    public DishFacets facetsOf(Collection<Dish> dishes) {
+        Aggregates subset = new Aggregates(bucketWidth, true);
+        for (Dish dish : dishes) {
+            subset.add(dish.getId(), dish.getCategory(), dish.getPrice());
+        }
+        return subset.toFacets();
+    }
+
+    public synchronized void put(Dish dish) {
+        if (startWrite()) {
+            aggregates.add(dish.getId(), dish.getCategory(), dish.getPrice());
+        }
+    }
+
+    public synchronized void remove(String id) {
+        if (startWrite()) {
+            aggregates.remove(id);
+        }
+    }
+
+    // Cambios de otras instancias (change stream): id -> plato, o null si se borró
+    public synchronized void applyChanges(Map<String, Dish> changes) {
+        if (!startWrite()) {
+            return;
+        }
+        changes.forEach((id, dish) -> {
+            if (dish == null) {
+                aggregates.remove(id);
+            } else {
+                aggregates.add(id, dish.getCategory(), dish.getPrice());
+            }
+        });
+    }
+
+    // La siguiente lectura vuelve a agregar en MongoDB
+    public synchronized void invalidate() {
+        generation++;
+        aggregates = null;
+        cached = null;
+    }
+
+    // true si la escritura se puede aplicar sobre los agregados; si solo hay conteos, se descartan
+    private boolean startWrite() {
+        generation++;
+        tracking = true;
+        cached = null;
+        if (aggregates != null && !aggregates.perDish()) {
+            aggregates = null;
+        }
+        return aggregates != null;
+    }
+
+    private record Entry(String category, Double price) {
+    }
+
+    private static final class Aggregates {
+
+        private final double bucketWidth;
+        // Lo que aporta cada plato, para que un cambio reste exactamente lo que sumó; null si solo hay conteos
+        private final Map<String, Entry> entries;
+        private final Map<String, CategoryStats> categories = new TreeMap<>();
+
+        Aggregates(double bucketWidth, boolean perDish) {
+            this.bucketWidth = bucketWidth;
+            this.entries = perDish ? new HashMap<>() : null;
+        }
+
+        boolean perDish() {
+            return entries != null;
+        }
+
+        // count platos de la categoría con ese precio (carga desde la agregación)
+        void addCount(String category, Double price, long count) {
+            String key = category == null ? "" : category;
+            categories.computeIfAbsent(key, k -> new CategoryStats()).add(price, bucket(price), count);
+        }
+
+        // Alta o reemplazo de un plato
+        void add(String id, String category, Double price) {
+            remove(id);
+            String key = category == null ? "" : category;
+            entries.put(id, new Entry(key, price));
+            categories.computeIfAbsent(key, k -> new CategoryStats()).add(price, bucket(price), 1);
+        }
+
+        void remove(String id) {
+            Entry previous = entries.remove(id);
+            if (previous == null) {
+                return;
+            }
+            CategoryStats stats = categories.get(previous.category());
+            stats.remove(previous.price(), bucket(previous.price()));
+            if (stats.count == 0) {
+                categories.remove(previous.category());
+            }
+        }
+
+        private long bucket(Double price) {
+            return price == null ? 0 : (long) Math.floor(price / bucketWidth);
+        }
+
+        DishFacets toFacets() {
+            List<DishFacets.CategoryFacet> facets = new ArrayList<>(categories.size());
+            long total = 0;
+            long priced = 0;
+            long sumCents = 0;
+            Double min = null;
+            Double max = null;
+
+            for (Map.Entry<String, CategoryStats> entry : categories.entrySet()) {
+                CategoryStats stats = entry.getValue();
+                total += stats.count;
+                priced += stats.priced;
+                sumCents += stats.sumCents;
+                Double categoryMin = stats.prices.isEmpty() ? null : stats.prices.firstKey();
+                Double categoryMax = stats.prices.isEmpty() ? null : stats.prices.lastKey();
+                if (categoryMin != null) {
+                    min = min == null ? categoryMin : Math.min(min, categoryMin);
+                    max = max == null ? categoryMax : Math.max(max, categoryMax);
+                }
+
+                List<DishFacets.PriceBucket> histogram = new ArrayList<>(stats.buckets.size());
+                stats.buckets.forEach((bucket, count) ->
+                        histogram.add(new DishFacets.PriceBucket(bucket * bucketWidth, (bucket + 1) * bucketWidth, count)));
+
+                facets.add(new DishFacets.CategoryFacet(entry.getKey(), stats.count, categoryMin, categoryMax,
+                        average(stats.sumCents, stats.priced), histogram));
+            }
+            return new DishFacets(total, bucketWidth, min, max, average(sumCents, priced), facets);
+        }
+
+        private static Double average(long sumCents, long priced) {
+            return priced == 0 ? null : sumCents / 100.0 / priced;
+        }
+    }
+
+    private static final class CategoryStats {
+
+        long count;
+        long priced;
+        // En centavos: con double, sumar y restar el mismo precio no deja la suma exacta y la media deriva
+        long sumCents;
+        // Multiconjunto de precios: mínimo y máximo siguen siendo correctos al borrar el plato extremo
+        final TreeMap<Double, Long> prices = new TreeMap<>();
+        final TreeMap<Long, Long> buckets = new TreeMap<>();
+
+        void add(Double price, long bucket, long n) {
+            count += n;
+            if (price == null) {
+                return;
+            }
+            priced += n;
+            sumCents += cents(price) * n;
+            prices.merge(price, n, Long::sum);
+            buckets.merge(bucket, n, Long::sum);
+        }
+
+        void remove(Double price, long bucket) {
+            count--;
+            if (price == null) {
+                return;
+            }
+            priced--;
+            sumCents -= cents(price);
+            prices.computeIfPresent(price, (k, n) -> n == 1 ? null : n - 1);
+            buckets.computeIfPresent(bucket, (k, n) -> n == 1 ? null : n - 1);
+        }
+
+        private static long cents(double price) {
+            return Math.round(price * 100);
+        }
+    }
+}
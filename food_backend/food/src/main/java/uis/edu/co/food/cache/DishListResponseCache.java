@@ -0,0 +1,200 @@
+package uis.edu.co.food.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import uis.edu.co.food.models.Dish;
+import uis.edu.co.food.search.DishFilter;
+import uis.edu.co.food.search.TextNormalizer;
+
+/**
+ * Respuestas de GET /api/dishes ya serializadas (UTF-8) y, si se piden, comprimidas con gzip.
+ * La clave es la consulta normalizada (categoría + términos de búsqueda) y cada entrada pertenece a
+ * una versión del catálogo: cualquier alta, edición o borrado de platos crea una versión nueva y
+ * descarta todas las entradas. El tamaño total está acotado; al superarlo se expulsan las menos usadas.
+ */
+@Component
+public class DishListResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final long maxBytes;
+
+    // Orden de acceso: la primera entrada es la menos usada recientemente
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long version = -1;
+    private long usedBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Timer serialization;
+
+    private static final class Entry {
+        final byte[] json;
+        volatile byte[] gzip;
+
+        Entry(byte[] json) {
+            this.json = json;
+        }
+
+        long size() {
+            byte[] compressed = gzip;
+            return json.length + (compressed == null ? 0 : compressed.length);
+        }
+    }
+
+    public DishListResponseCache(ObjectMapper objectMapper, MeterRegistry registry,
+                                 @Value("${food.dishes.response-cache.max-size:16MB}") DataSize maxSize) {
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxSize.toBytes();
+        this.hits = Counter.builder("food.dishes.response-cache.requests")
+                .tag("result", "hit")
+                .description("Listados servidos con el cuerpo ya serializado")
+                .register(registry);
+        this.misses = Counter.builder("food.dishes.response-cache.requests")
+                .tag("result", "miss")
+                .description("Listados que hubo que serializar")
+                .register(registry);
+        this.evictions = Counter.builder("food.dishes.response-cache.evictions")
+                .description("Entradas expulsadas por superar el tamaño máximo")
+                .register(registry);
+        this.serialization = Timer.builder("food.dishes.response-cache.serialization")
+                .description("Serialización con Jackson de un listado no cacheado")
+                .publishPercentileHistogram()
+                .register(registry);
+        Gauge.builder("food.dishes.response-cache.bytes", this, DishListResponseCache::usedBytes)
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("food.dishes.response-cache.entries", this, DishListResponseCache::entryCount)
+                .register(registry);
+    }
+
+    // Clave de la consulta: la búsqueda se reduce a sus términos normalizados, como la usa el índice
+    public static String key(String category, String search) {
+        String categoryKey = category == null ? "" : category;
+        if (search == null || search.isBlank()) {
+            return categoryKey;
+        }
+        return categoryKey + "\u0000" + String.join(" ", TextNormalizer.tokenize(search));
+    }
+
+    // Con filtros de ingredientes o precio: mismos filtros en otro orden comparten clave
+    public static String key(String category, String search, DishFilter filter) {
+        String key = key(category, search);
+        return filter.isEmpty() ? key : key + "\u0000" + filter.key();
+    }
+
+    // Cuerpo JSON de la consulta en la versión dada; se serializa solo en la primera petición
+    public byte[] json(long version, String key, Supplier<List<Dish>> dishes) {
+        return entry(version, key, dishes).json;
+    }
+
+    // Cuerpo JSON comprimido con gzip; se comprime una sola vez por entrada
+    public byte[] gzip(long version, String key, Supplier<List<Dish>> dishes) {
+        Entry entry = entry(version, key, dishes);
+        byte[] compressed = entry.gzip;
+        if (compressed == null) {
+            compressed = compress(entry.json);
+            synchronized (this) {
+                if (entry.gzip == null) {
+                    entry.gzip = compressed;
+                    if (entries.get(key) == entry) {
+                        usedBytes += compressed.length;
+                        evictOverflow();
+                    }
+                }
+            }
+        }
+        return compressed;
+    }
+
+    private Entry entry(long version, String key, Supplier<List<Dish>> dishes) {
+        synchronized (this) {
+            if (version > this.version) {
+                // Versión nueva del catálogo: lo guardado ya no es válido
+                entries.clear();
+                usedBytes = 0;
+                this.version = version;
+            }
+            Entry cached = version == this.version ? entries.get(key) : null;
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+
+        misses.increment();
+        Entry created = new Entry(serialize(dishes.get()));
+
+        synchronized (this) {
+            // Una petición que leyó una versión ya reemplazada se atiende sin guardar
+            if (version != this.version || created.size() > maxBytes) {
+                return created;
+            }
+            Entry existing = entries.putIfAbsent(key, created);
+            if (existing != null) {
+                return existing;
+            }
+            usedBytes += created.size();
+            evictOverflow();
+            return created;
+        }
+    }
+
+    // Llamar con el monitor tomado
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (usedBytes > maxBytes && eldest.hasNext()) {
+            usedBytes -= eldest.next().getValue().size();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    private synchronized int entryCount() {
+        return entries.size();
+    }
+
+    private byte[] serialize(List<Dish> dishes) {
+        Timer.Sample sample = Timer.start();
+        try {
+            return objectMapper.writeValueAsBytes(dishes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response", e);
+        } finally {
+            sample.stop(serialization);
+        }
+    }
+
+    private static byte[] compress(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,87 @@
+package uis.edu.co.food.config;
+
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import uis.edu.co.food.models.Dish;
+
+/**
+ * Rellena ingredientKeys en los platos guardados antes de existir el campo (sin él no aparecen en los
+ * filtros por ingredientes de la paginación). La normalización es la de Java, así que se recorre en
+ * streaming y se escribe por lotes. Idempotente.
+ */
+@Component
+public class DishIngredientKeysMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(DishIngredientKeysMigration.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+
+    public DishIngredientKeysMigration(MongoTemplate mongoTemplate,
+                                       @Value("${food.mongo.migrations.dish-ingredient-keys:true}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        Thread worker = new Thread(this::migrate, "dish-ingredient-keys-migration");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public long migrate() {
+        try {
+            Query query = new Query(Criteria.where("ingredientes").exists(true).and("ingredientKeys").exists(false));
+            query.fields().include("ingredientes");
+            query.cursorBatchSize(BATCH_SIZE);
+
+            long migrated = 0;
+            BulkOperations bulk = null;
+            int pending = 0;
+            try (Stream<Dish> dishes = mongoTemplate.stream(query, Dish.class)) {
+                for (Dish dish : (Iterable<Dish>) dishes::iterator) {
+                    if (bulk == null) {
+                        bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, Dish.class);
+                    }
+                    // Sin tocar version ni updatedAt: es un campo derivado, el plato no cambia
+                    bulk.updateOne(new Query(Criteria.where("_id").is(dish.getId())),
+                            new Update().set("ingredientKeys", Dish.ingredientKeysOf(dish.getIngredientes())));
+                    if (++pending == BATCH_SIZE) {
+                        migrated += bulk.execute().getModifiedCount();
+                        bulk = null;
+                        pending = 0;
+                    }
+                }
+            }
+            if (bulk != null) {
+                migrated += bulk.execute().getModifiedCount();
+            }
+            if (migrated > 0) {
+                log.info("Platos con ingredientKeys calculados: {}", migrated);
+            }
+            return migrated;
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron normalizar los ingredientes de los platos: {}", e.getMessage());
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package uis.edu.co.food.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.client.result.UpdateResult;
+
+import uis.edu.co.food.cache.DishCatalogCache;
+import uis.edu.co.food.models.Dish;
+
+/**
+ * Asigna version = 0 a los platos guardados antes de añadir @Version. Sin ella, save() trataría un plato
+ * existente como nuevo e If-Match no tendría con qué comparar. Es idempotente y se ejecuta en segundo plano
+ * tras el arranque, como la creación de índices.
+ */
+@Component
+public class DishVersionMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(DishVersionMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final DishCatalogCache catalogCache;
+    private final boolean enabled;
+
+    public DishVersionMigration(MongoTemplate mongoTemplate, DishCatalogCache catalogCache,
+                                @Value("${food.mongo.migrations.dish-version:true}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.catalogCache = catalogCache;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        Thread worker = new Thread(this::migrate, "dish-version-migration");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public long migrate() {
+        try {
+            UpdateResult result = mongoTemplate.updateMulti(
+                    new Query(Criteria.where("version").exists(false)),
+                    new Update().set("version", 0L),
+                    Dish.class);
+            if (result.getModifiedCount() > 0) {
+                log.info("Platos sin versión migrados a version = 0: {}", result.getModifiedCount());
+                // La caché puede tener esos platos sin versión
+                catalogCache.invalidate();
+            }
+            return result.getModifiedCount();
+        } catch (RuntimeException e) {
+            log.warn("No se pudo migrar la versión de los platos: {}", e.getMessage());
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package uis.edu.co.food.config;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import jakarta.servlet.http.HttpServletResponse;
+import uis.edu.co.food.exception.ConflictException;
+import uis.edu.co.food.models.Dish;
+
+/**
+ * GET condicionales para los endpoints del menú. Los ETags son débiles (el cuerpo puede ir
+ * comprimido o no) e incluyen una marca del arranque, porque las versiones de las cachés
+ * en memoria vuelven a empezar al reiniciar la aplicación.
+ */
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Component
+public class HttpCachePolicy {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final String cacheControl;
+
+    public HttpCachePolicy(@Value("${food.http.cache.max-age-seconds:0}") long maxAgeSeconds) {
+        // max-age=0: el cliente revalida siempre, pero recibe 304 si nada cambió
+        CacheControl policy = maxAgeSeconds > 0
+                ? CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).mustRevalidate()
+                : CacheControl.noCache();
+        this.cacheControl = policy.cachePublic().getHeaderValue();
+    }
+
+    // ETag de un recurso cuyo contenido depende de una versión en memoria
+    public String etag(String resource, long version) {
+        return "W/\"" + resource + "-" + epoch + "-" + version + "\"";
+    }
+
+    // ETag de un plato a partir de su última modificación (no depende del arranque)
+    public String etag(String id, LocalDateTime updatedAt) {
+        return "W/\"" + id + "-" + toInstant(updatedAt).toEpochMilli() + "\"";
+    }
+
+    // ETag de un plato: su versión en MongoDB (o updatedAt si aún no tiene); null si no tiene ninguna de las dos
+    public String etag(Dish dish) {
+        if (dish.getVersion() != null) {
+            return "W/\"" + dish.getId() + "-v" + dish.getVersion() + "\"";
+        }
+        return dish.getUpdatedAt() == null ? null : etag(dish.getId(), dish.getUpdatedAt());
+    }
+
+    /**
+     * Versión del plato que exige If-Match, o null si no hay condición (sin cabecera o "*").
+     * Se compara por versión (comparación débil): un ETag que no es de este plato o no lleva versión da 409.
+     */
+    public static Long expectedVersion(String ifMatch, String id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = id + "-v";
+        for (String tag : ifMatch.split(",")) {
+            String value = tag.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                value = value.substring(1, value.length() - 1);
+            }
+            if (value.startsWith(prefix)) {
+                try {
+                    return Long.parseLong(value.substring(prefix.length()));
+                } catch (NumberFormatException e) {
+                    // Se prueba con el siguiente
+                }
+            }
+        }
+        throw new ConflictException("If-Match does not match the current version of dish " + id);
+    }
+
+    public static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    /**
+     * Añade Cache-Control, ETag y Last-Modified a la respuesta y evalúa If-None-Match / If-Modified-Since.
+     * Si devuelve true la respuesta ya es un 304 y el controlador debe devolver null.
+     */
+    public boolean checkNotModified(ServletWebRequest request, String etag, Instant lastModified) {
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        return lastModified == null
+                ? request.checkNotModified(etag)
+                : request.checkNotModified(etag, lastModified.toEpochMilli());
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -17,15 +18,21 @@ import io.jsonwebtoken.security.Keys;
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private final String secret;
+    private final long expirationMs;
 
-    @Value("${jwt.expiration}")
-    private long expirationMs;
+    // Clave y parser se construyen una sola vez (son inmutables y thread-safe)
+    private final Key signingKey;
+    private final JwtParser parser;
 
-    private Key getSigningKey() {
+    public JwtUtil(@Value("${jwt.secret}") String secret, @Value("${jwt.expiration}") long expirationMs) {
+        this.secret = secret;
+        this.expirationMs = expirationMs;
         // usa el secret como clave HMAC-SHA
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
     // Genera token con claim "role"
@@ -38,7 +45,7 @@ public class JwtUtil {
                 .claim("role", role)
                 .setIssuedAt(now)
                 .setExpiration(expiry)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -59,13 +66,9 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
-    // Parsea y devuelve todos los claims (lanza excepción si inválido)
-    private Claims getAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // Parsea y devuelve todos los claims (lanza excepción si inválido o expirado)
+    public Claims getAllClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
     // Valida firma y expiración. Retorna true si es válido.
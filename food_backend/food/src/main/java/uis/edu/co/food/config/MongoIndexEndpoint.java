@@ -0,0 +1,27 @@
+package uis.edu.co.food.config;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+// GET /actuator/mongoindexes: índices creados y plan de cada consulta frecuente; POST lo vuelve a ejecutar
+@Component
+@Endpoint(id = "mongoindexes")
+@RequiredArgsConstructor
+public class MongoIndexEndpoint {
+
+    private final MongoIndexManager indexManager;
+
+    @ReadOperation
+    public MongoIndexManager.Report report() {
+        return indexManager.getReport();
+    }
+
+    @WriteOperation
+    public MongoIndexManager.Report rerun() {
+        return indexManager.run();
+    }
+}
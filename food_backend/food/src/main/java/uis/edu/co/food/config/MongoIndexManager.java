@@ -0,0 +1,197 @@
+package uis.edu.co.food.config;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+import uis.edu.co.food.models.Category;
+import uis.edu.co.food.models.CategoryJob;
+import uis.edu.co.food.models.Dish;
+import uis.edu.co.food.models.User;
+
+/**
+ * Crea los índices declarados en los modelos (@Indexed, @CompoundIndex) al arrancar y comprueba con
+ * explain que las consultas frecuentes de los repositorios los usan. Se ejecuta tras ApplicationReadyEvent
+ * en segundo plano, para no bloquear ni romper el arranque si MongoDB no responde. Con
+ * food.mongo.indexes.fail-on-collscan=true se ejecuta en el arranque y lo aborta si alguna hace COLLSCAN.
+ * El resultado se consulta en /actuator/mongoindexes.
+ */
+@Component
+public class MongoIndexManager {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexManager.class);
+
+    private static final List<Class<?>> INDEXED_MODELS = List.of(User.class, Category.class, Dish.class, CategoryJob.class);
+
+    /** Consulta de un repositorio que se verifica con explain (valores de ejemplo, lo que importa es la forma). */
+    public record HotQuery(String name, String collection, Document filter, Document sort) {
+    }
+
+    public record QueryPlan(String name, String collection, String winningStages, boolean collectionScan, String error) {
+    }
+
+    public record Report(String status, Instant startedAt, Instant finishedAt,
+                         Map<String, List<String>> indexes, List<QueryPlan> plans, List<String> errors) {
+    }
+
+    private static final List<HotQuery> HOT_QUERIES = List.of(
+            new HotQuery("UserRepository.findByUsername", "users",
+                    new Document("username", "admin"), null),
+            new HotQuery("CategoryRepository.findByName", "categories",
+                    new Document("name", "Comida rápida"), null),
+            new HotQuery("DishRepository.findByCategory", "dishes",
+                    new Document("category", "Comida rápida"), null),
+            new HotQuery("DishRepository.existsByCategory", "dishes",
+                    new Document("category", "Comida rápida"), null),
+            new HotQuery("DishRepository.findIdsByCategory", "dishes",
+                    new Document("category", "Comida rápida"), null),
+            new HotQuery("DishRepository.findPage(category, sort=id)", "dishes",
+                    new Document("category", "Comida rápida"), new Document("_id", 1)),
+            new HotQuery("DishRepository.findPage(category, sort=-price)", "dishes",
+                    new Document("category", "Comida rápida"), new Document("price", -1).append("_id", -1)),
+            new HotQuery("DishRepository.findPage(includeIngredients)", "dishes",
+                    new Document("ingredientKeys", new Document("$all", List.of("queso"))), new Document("_id", 1)),
+            new HotQuery("DishRepository.streamForExport(updatedAfter)", "dishes",
+                    new Document("updatedAt", new Document("$gt", new Date(0))), new Document("_id", 1)));
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean ensureIndexes;
+    private final boolean verifyPlans;
+    private final boolean failOnCollscan;
+
+    private volatile Report report = new Report("PENDING", null, null, Map.of(), List.of(), List.of());
+
+    public MongoIndexManager(MongoTemplate mongoTemplate,
+                             @Value("${food.mongo.indexes.ensure-on-startup:true}") boolean ensureIndexes,
+                             @Value("${food.mongo.indexes.verify-plans:true}") boolean verifyPlans,
+                             @Value("${food.mongo.indexes.fail-on-collscan:false}") boolean failOnCollscan) {
+        this.mongoTemplate = mongoTemplate;
+        this.ensureIndexes = ensureIndexes;
+        this.verifyPlans = verifyPlans;
+        this.failOnCollscan = failOnCollscan;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!ensureIndexes && !verifyPlans) {
+            report = new Report("DISABLED", null, null, Map.of(), List.of(), List.of());
+            return;
+        }
+        if (failOnCollscan) {
+            Report result = run();
+            if (!"OK".equals(result.status())) {
+                throw new IllegalStateException("MongoDB index check failed (" + result.status() + "): "
+                        + result.plans().stream().filter(QueryPlan::collectionScan).map(QueryPlan::name).toList()
+                        + " " + result.errors());
+            }
+            return;
+        }
+        Thread worker = new Thread(this::run, "mongo-index-manager");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public Report getReport() {
+        return report;
+    }
+
+    // Crea índices y verifica planes; se puede relanzar desde el endpoint de actuator
+    public synchronized Report run() {
+        Instant startedAt = Instant.now();
+        report = new Report("RUNNING", startedAt, null, Map.of(), List.of(), List.of());
+
+        Map<String, List<String>> indexes = new LinkedHashMap<>();
+        List<QueryPlan> plans = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+
+        if (ensureIndexes) {
+            ensureIndexes(indexes, errors);
+        }
+        if (verifyPlans) {
+            HOT_QUERIES.forEach(query -> plans.add(explain(query)));
+        }
+
+        String status;
+        if (plans.stream().anyMatch(QueryPlan::collectionScan)) {
+            status = "COLLSCAN";
+        } else if (!errors.isEmpty() || plans.stream().anyMatch(plan -> plan.error() != null)) {
+            status = "ERROR";
+        } else {
+            status = "OK";
+        }
+
+        Report result = new Report(status, startedAt, Instant.now(), indexes, plans, errors);
+        report = result;
+        if ("OK".equals(status)) {
+            log.info("Índices de MongoDB verificados: {}", indexes);
+        } else {
+            log.warn("Verificación de índices de MongoDB: {} (planes {}, errores {})", status, plans, errors);
+        }
+        return result;
+    }
+
+    private void ensureIndexes(Map<String, List<String>> indexes, List<String> errors) {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> model : INDEXED_MODELS) {
+            String collection = mongoTemplate.getCollectionName(model);
+            IndexOperations indexOps = mongoTemplate.indexOps(model);
+            List<String> created = new ArrayList<>();
+            resolver.resolveIndexFor(model).forEach(definition -> {
+                try {
+                    created.add(indexOps.createIndex(definition));
+                } catch (RuntimeException e) {
+                    // p. ej. datos duplicados que impiden un índice único
+                    errors.add(collection + " " + definition.getIndexKeys().toJson() + ": " + e.getMessage());
+                }
+            });
+            indexes.put(collection, created);
+        }
+    }
+
+    private QueryPlan explain(HotQuery query) {
+        try {
+            var find = mongoTemplate.getCollection(query.collection()).find(query.filter());
+            if (query.sort() != null) {
+                find.sort(query.sort());
+            }
+            Document explain = find.explain();
+            Object winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan");
+
+            List<String> stages = new ArrayList<>();
+            collectStages(winningPlan, stages);
+            return new QueryPlan(query.name(), query.collection(), String.join(" <- ", stages),
+                    stages.contains("COLLSCAN"), null);
+        } catch (RuntimeException e) {
+            return new QueryPlan(query.name(), query.collection(), null, false, e.getMessage());
+        }
+    }
+
+    // Recorre el plan (inputStage/inputStages, también el formato SBE con queryPlan) y anota cada etapa
+    private static void collectStages(Object node, List<String> stages) {
+        if (node instanceof Document document) {
+            Object stage = document.get("stage");
+            if (stage instanceof String name) {
+                stages.add(name);
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof Collection<?> values) {
+            values.forEach(value -> collectStages(value, stages));
+        }
+    }
+}
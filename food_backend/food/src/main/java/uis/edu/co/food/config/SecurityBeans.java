@@ -1,15 +1,55 @@
 package uis.edu.co.food.config;
 
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class SecurityBeans {
 
+    private static final Logger log = LoggerFactory.getLogger(SecurityBeans.class);
+
+    private static final int MIN_STRENGTH = 10;
+    private static final int MAX_STRENGTH = 16;
+
+    // Los hashes nuevos se guardan como "{bcrypt}..."; los antiguos sin prefijo se leen como bcrypt
+    // y upgradeEncoding() los marca para re-hashear en el próximo login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${food.password.bcrypt.strength:0}") int strength,
+            @Value("${food.password.bcrypt.target-ms:250}") long targetMs) {
+
+        int cost = strength > 0 ? strength : calibrateStrength(targetMs);
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(cost);
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    // Mayor coste de BCrypt cuyo tiempo estimado por hash no supera el objetivo (cada +1 duplica el tiempo)
+    static int calibrateStrength(long targetMs) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_STRENGTH);
+        probe.encode("calibration"); // calentamiento
+
+        long start = System.nanoTime();
+        probe.encode("calibration");
+        double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+
+        int strength = MIN_STRENGTH;
+        while (strength < MAX_STRENGTH && elapsedMs * 2 <= targetMs) {
+            elapsedMs *= 2;
+            strength++;
+        }
+
+        log.info("BCrypt calibrado: coste {} (~{} ms por hash, objetivo {} ms)", strength, Math.round(elapsedMs), targetMs);
+        return strength;
     }
 }
@@ -0,0 +1,31 @@
+package uis.edu.co.food.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Comprueba el modo de hilos al arrancar. Spring Boot ignora en silencio spring.threads.virtual.enabled
+ * en Java 17; aquí se falla en el arranque para no medir el modo equivocado.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @PostConstruct
+    void checkThreadingMode() {
+        int javaVersion = Runtime.version().feature();
+        if (virtualThreads && javaVersion < 21) {
+            throw new IllegalStateException(
+                    "spring.threads.virtual.enabled requires Java 21 (running on " + javaVersion + "); build with -Pjava21");
+        }
+        log.info("Modo de hilos: {}", virtualThreads ? "virtual" : "plataforma");
+    }
+}
@@ -0,0 +1,47 @@
+package uis.edu.co.food.controller;
+
+import java.time.LocalDateTime;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import uis.edu.co.food.dto.AuditPage;
+import uis.edu.co.food.models.AuditEntry;
+import uis.edu.co.food.service.AuditService;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RestController
+@RequestMapping("/api/audit")
+@RequiredArgsConstructor
+public class AuditController {
+
+    private final AuditService auditService;
+
+    /**
+     * GET /api/audit
+     * Cambios de platos y categorías, del más reciente al más antiguo (solo ROLE_ADMIN)
+     * Query params opcionales:
+     *   - entity (dish, category, category-job), entityId, actor, action (CREATE, UPDATE, DELETE)
+     *   - from / to: rango de fechas ISO, p. ej. 2025-01-31T00:00:00
+     *   - limit, cursor: paginación (cursor = nextCursor de la página anterior)
+     *
+     *   GET /api/audit?entity=dish&entityId=665f...&limit=20
+     */
+    @GetMapping
+    public AuditPage find(
+            @RequestParam(required = false) String entity,
+            @RequestParam(required = false) String entityId,
+            @RequestParam(required = false) String actor,
+            @RequestParam(required = false) AuditEntry.Action action,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return auditService.find(entity, entityId, actor, action, from, to, cursor, limit);
+    }
+}
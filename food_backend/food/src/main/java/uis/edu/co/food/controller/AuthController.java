@@ -4,6 +4,7 @@ import uis.edu.co.food.dto.LoginRequest;
 import uis.edu.co.food.dto.RegisterRequest;
 import uis.edu.co.food.service.AuthService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.web.bind.annotation.*;
 import java.util.Map;
 
@@ -11,6 +12,7 @@ import uis.edu.co.food.models.User;
 
 
 
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
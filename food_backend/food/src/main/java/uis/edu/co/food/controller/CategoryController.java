@@ -1,7 +1,10 @@
 package uis.edu.co.food.controller;
 
+import java.net.URI;
 import java.util.List;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,27 +13,43 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import lombok.RequiredArgsConstructor;
+import uis.edu.co.food.config.HttpCachePolicy;
 import uis.edu.co.food.models.Category;
+import uis.edu.co.food.models.CategoryJob;
 import uis.edu.co.food.service.CategoryService;
 
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RestController
 @RequestMapping("/api/categories")
 @RequiredArgsConstructor
 public class CategoryController {
 
     private final CategoryService service;
+    private final HttpCachePolicy httpCachePolicy;
 
+    // ETag según la versión del registro de categorías: con If-None-Match responde 304 sin consultar MongoDB
     @GetMapping
-    public List<Category> getAll() {
+    public List<Category> getAll(ServletWebRequest webRequest) {
+        if (httpCachePolicy.checkNotModified(webRequest, httpCachePolicy.etag("categories", service.version()), null)) {
+            return null;
+        }
         return service.findAll();
     }
 
     @GetMapping("/{id}")
-    public Category getById(@PathVariable String id) {
-        return service.findById(id);
+    public Category getById(@PathVariable String id, ServletWebRequest webRequest) {
+        // La versión se lee antes que los datos: el ETag nunca es más nuevo que el cuerpo
+        long version = service.version();
+        Category category = service.findById(id);
+        if (httpCachePolicy.checkNotModified(webRequest, httpCachePolicy.etag("categories", version), null)) {
+            return null;
+        }
+        return category;
     }
 
     @PostMapping
@@ -40,14 +59,43 @@ public class CategoryController {
                 .body(service.create(c));
     }
 
+    // Con cambio de nombre responde 202: los platos se actualizan en segundo plano (Location = estado del trabajo)
     @PutMapping("/{id}")
-    public Category update(@PathVariable String id, @RequestBody Category c) {
-        return service.update(id, c);
+    public ResponseEntity<Category> update(@PathVariable String id, @RequestBody Category c) {
+        CategoryService.Change change = service.update(id, c);
+        if (change.job() == null) {
+            return ResponseEntity.ok(change.category());
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(jobLocation(change.job()))
+                .body(change.category());
     }
 
+    // DELETE /api/categories/{id}?reassignTo=Otra: borra la categoría y mueve sus platos a "Otra" (202)
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable String id) {
-        service.delete(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<CategoryJob> delete(@PathVariable String id,
+                                              @RequestParam(required = false) String reassignTo) {
+        CategoryJob job = service.delete(id, reassignTo);
+        if (job == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(jobLocation(job))
+                .body(job);
+    }
+
+    // Estado y progreso de los trabajos que mueven platos (solo ROLE_ADMIN)
+    @GetMapping("/jobs")
+    public List<CategoryJob> recentJobs() {
+        return service.recentJobs();
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public CategoryJob getJob(@PathVariable String jobId) {
+        return service.getJob(jobId);
+    }
+
+    private static URI jobLocation(CategoryJob job) {
+        return URI.create("/api/categories/jobs/" + job.getId());
     }
 }
@@ -1,30 +1,58 @@
 package uis.edu.co.food.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Supplier;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import lombok.RequiredArgsConstructor;
+import uis.edu.co.food.cache.DishCatalogSnapshot;
+import uis.edu.co.food.cache.DishListResponseCache;
+import uis.edu.co.food.config.HttpCachePolicy;
+import uis.edu.co.food.dto.BulkImportResult;
+import uis.edu.co.food.dto.DishFacets;
+import uis.edu.co.food.dto.DishPage;
 import uis.edu.co.food.dto.DishRequest;
 import uis.edu.co.food.models.Dish;
+import uis.edu.co.food.search.DishFilter;
+import uis.edu.co.food.service.DishExportService;
+import uis.edu.co.food.service.DishImportService;
 import uis.edu.co.food.service.DishService;
 
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RestController
 @RequestMapping("/api/dishes")
 @RequiredArgsConstructor
 public class DishController {
 
     private final DishService dishService;
+    private final DishExportService dishExportService;
+    private final DishImportService dishImportService;
+    private final HttpCachePolicy httpCachePolicy;
+    private final DishListResponseCache responseCache;
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
 
     /**
      * GET /api/dishes
@@ -38,23 +66,157 @@ public class DishController {
      *   GET /api/dishes?category=Comida rápida
      *   GET /api/dishes?search=hamburguesa
      *   GET /api/dishes?category=Comida rápida&search=BBQ
+     *
+     * Filtros por ingredientes (listas separadas por comas, sin distinguir mayúsculas ni tildes) y precio:
+     *   - ingredients: deben estar todos
+     *   - excludeIngredients: no debe estar ninguno (alérgenos)
+     *   - minPrice / maxPrice: rango de precio, ambos incluidos
+     *
+     *   GET /api/dishes?excludeIngredients=maní,gluten&maxPrice=20000
+     *
+     * Paginación por cursor (si se envía limit, cursor, sort o fields la respuesta es un DishPage):
+     *   - limit: tamaño de página
+     *   - cursor: valor de nextCursor de la página anterior
+     *   - sort: id, name, price, createdAt, updatedAt (prefijo "-" para descendente)
+     *   - fields: proyección, p. ej. id,name,price,imageUrl (cada item trae solo esos campos, sin los null)
+     *
+     *   GET /api/dishes?limit=20&sort=-createdAt&fields=id,name,price,imageUrl
+     *
+     * Responde con ETag/Last-Modified del catálogo; con If-None-Match o If-Modified-Since devuelve 304.
+     * Las páginas solo llevan ETag (cambia con cada escritura) y no admiten search.
      */
     @GetMapping
-    public ResponseEntity<List<Dish>> getAllDishes(
+    public ResponseEntity<?> getAllDishes(
             @RequestParam(required = false) String category,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String ingredients,
+            @RequestParam(required = false) String excludeIngredients,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            ServletWebRequest webRequest) {
+
+        DishFilter filter = DishFilter.of(ingredients, excludeIngredients, minPrice, maxPrice);
+
+        if (cursor != null || limit != null || sort != null || fields != null) {
+            // La búsqueda usa el índice en memoria, que necesita el catálogo completo
+            if (search != null && !search.isBlank()) {
+                throw new IllegalArgumentException("Pagination is not supported together with search");
+            }
+            // Las páginas se leen de MongoDB: el ETag sale del contador de escrituras, sin cargar el catálogo
+            String pageEtag = httpCachePolicy.etag("dishes-page", dishService.getCatalogGeneration());
+            if (httpCachePolicy.checkNotModified(webRequest, pageEtag, null)) {
+                return null;
+            }
+            DishPage page = dishService.getDishPage(category, filter, cursor, limit, sort, fields);
+            return ResponseEntity.ok(page);
+        }
+
+        // El ETag sale de la versión del catálogo en memoria: un 304 no consulta MongoDB
+        DishCatalogSnapshot snapshot = dishService.getCatalogSnapshot();
+        String etag = httpCachePolicy.etag("dishes", snapshot.getVersion());
+        if (httpCachePolicy.checkNotModified(webRequest, etag, snapshot.getLoadedAt())) {
+            return null;
+        }
         
-        List<Dish> dishes = dishService.getAllDishes(category, search);
-        return ResponseEntity.ok(dishes);
+        // Cuerpo ya serializado (y comprimido si el cliente lo acepta) para esta versión del catálogo
+        String key = DishListResponseCache.key(category, search, filter);
+        Supplier<List<Dish>> dishes = () -> dishService.getAllDishes(snapshot, category, search, filter);
+        if (acceptsGzip(acceptEncoding)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .body(responseCache.gzip(snapshot.getVersion(), key, dishes));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .body(responseCache.json(snapshot.getVersion(), key, dishes));
+    }
+
+    // true si Accept-Encoding admite gzip (ignora "gzip;q=0")
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            if (!coding.equalsIgnoreCase("gzip") && !coding.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=") && param.substring(2).matches("0(\\.0*)?")) {
+                    refused = true;
+                }
+            }
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * GET /api/dishes/facets
+     * Resumen del menú por categoría: número de platos, precio mínimo/máximo/medio e histograma de precios (público)
+     * Query param opcional:
+     *   - search: limitar las facetas a los platos que coinciden con la búsqueda
+     *
+     *   GET /api/dishes/facets?search=hamburguesa
+     *
+     * Mismo ETag por versión del catálogo que el listado
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<DishFacets> getFacets(
+            @RequestParam(required = false) String search,
+            ServletWebRequest webRequest) {
+
+        DishCatalogSnapshot snapshot = dishService.getCatalogSnapshot();
+        String etag = httpCachePolicy.etag("facets", snapshot.getVersion());
+        if (httpCachePolicy.checkNotModified(webRequest, etag, snapshot.getLoadedAt())) {
+            return null;
+        }
+        return ResponseEntity.ok(dishService.getFacets(snapshot, search));
+    }
+
+    /**
+     * GET /api/dishes/export
+     * Exportar el catálogo como NDJSON (un plato por línea), en streaming desde un cursor de MongoDB (público)
+     * Query params opcionales:
+     *   - category: filtrar por categoría
+     *   - updatedAfter: solo platos modificados después de la fecha (ISO, p. ej. 2025-01-31T00:00:00)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportDishes(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedAfter) {
+
+        StreamingResponseBody body = out -> dishExportService.exportNdjson(category, updatedAfter, out);
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(body);
     }
 
     /**
      * GET /api/dishes/{id}
-     * Obtener un plato por ID (público)
+     * Obtener un plato por ID (público). ETag según la versión y Last-Modified según updatedAt
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Dish> getDishById(@PathVariable String id) {
+    public ResponseEntity<Dish> getDishById(@PathVariable String id, ServletWebRequest webRequest) {
         Dish dish = dishService.getDishById(id);
+        String etag = httpCachePolicy.etag(dish);
+        if (etag != null && httpCachePolicy.checkNotModified(webRequest, etag,
+                dish.getUpdatedAt() == null ? null : HttpCachePolicy.toInstant(dish.getUpdatedAt()))) {
+            return null;
+        }
         return ResponseEntity.ok(dish);
     }
 
@@ -68,17 +230,56 @@ public class DishController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    /**
+     * POST /api/dishes/bulk
+     * Importación masiva (protegido - solo ROLE_ADMIN)
+     * Content-Type:
+     *   - application/json: array de platos
+     *   - application/x-ndjson: un plato por línea
+     *   - text/csv: cabecera name,category,price,description,imageUrl,ingredientes (ingredientes separados por ";")
+     * Devuelve el resultado de cada fila (inserted/failed)
+     */
+    @PostMapping(value = "/bulk", consumes = { "application/json", "application/x-ndjson", "text/csv" })
+    public ResponseEntity<BulkImportResult> importDishes(
+            @RequestHeader("Content-Type") String contentType,
+            InputStream body) throws IOException {
+
+        BulkImportResult result = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? dishImportService.importCsv(body)
+                : dishImportService.importJson(body);
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * PUT /api/dishes/{id}
      * Actualizar un plato existente (protegido - solo ROLE_ADMIN)
+     * Con If-Match (ETag de GET /api/dishes/{id}) solo se aplica si nadie lo modificó antes; si no, 409
      */
     @PutMapping("/{id}")
     public ResponseEntity<Dish> updateDish(
             @PathVariable String id,
-            @RequestBody DishRequest request) {
+            @RequestBody DishRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         
-        Dish updated = dishService.updateDish(id, request);
-        return ResponseEntity.ok(updated);
+        Dish updated = dishService.updateDish(id, request, HttpCachePolicy.expectedVersion(ifMatch, id));
+        return ResponseEntity.ok().eTag(httpCachePolicy.etag(updated)).body(updated);
+    }
+
+    /**
+     * PATCH /api/dishes/{id}
+     * Actualización parcial (protegido - solo ROLE_ADMIN): solo cambian los campos presentes en el cuerpo
+     * Admite If-Match igual que PUT
+     *
+     *   PATCH /api/dishes/{id}   {"price": 15000}
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Dish> patchDish(
+            @PathVariable String id,
+            @RequestBody DishRequest changes,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        Dish updated = dishService.patchDish(id, changes, HttpCachePolicy.expectedVersion(ifMatch, id));
+        return ResponseEntity.ok().eTag(httpCachePolicy.etag(updated)).body(updated);
     }
 
     /**
@@ -0,0 +1,47 @@
+package uis.edu.co.food.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import lombok.RequiredArgsConstructor;
+import uis.edu.co.food.events.MenuEventBroadcaster;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RestController
+@RequestMapping("/api/menu")
+@RequiredArgsConstructor
+public class MenuEventsController {
+
+    private final MenuEventBroadcaster broadcaster;
+
+    /**
+     * GET /api/menu/events
+     * Cambios de platos y categorías en tiempo real (Server-Sent Events, público)
+     * Eventos: dish.created, dish.updated, dish.deleted, dish.reload, category.* y
+     * ready/reset (sin cambios que aplicar / recargar el menú completo)
+     *
+     * EventSource reenvía Last-Event-ID al reconectar y recibe lo que se perdió
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> events(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+
+        SseEmitter emitter = broadcaster.subscribe(lastEventId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no") // nginx: no acumular la respuesta
+                .body(emitter);
+    }
+}
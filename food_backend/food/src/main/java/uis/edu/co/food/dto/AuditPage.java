@@ -0,0 +1,17 @@
+package uis.edu.co.food.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import uis.edu.co.food.models.AuditEntry;
+
+@Data
+@AllArgsConstructor
+public class AuditPage {
+    // Del más reciente al más antiguo
+    private List<AuditEntry> items;
+    // Cursor para la siguiente página (null si no hay más)
+    private String nextCursor;
+    private int limit;
+}
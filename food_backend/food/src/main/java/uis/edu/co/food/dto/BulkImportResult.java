@@ -0,0 +1,38 @@
+package uis.edu.co.food.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+public class BulkImportResult {
+    private int total;
+    private int inserted;
+    private int failed;
+    private List<Row> rows = new ArrayList<>();
+
+    @Data
+    @AllArgsConstructor
+    public static class Row {
+        // Número de fila en la entrada (empieza en 1)
+        private int row;
+        // "inserted" o "failed"
+        private String status;
+        private String id;
+        private String error;
+    }
+
+    public void inserted(int row, String id) {
+        rows.add(new Row(row, "inserted", id, null));
+        inserted++;
+        total++;
+    }
+
+    public void failed(int row, String error) {
+        rows.add(new Row(row, "failed", null, error));
+        failed++;
+        total++;
+    }
+}
@@ -0,0 +1,39 @@
+package uis.edu.co.food.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DishFacets {
+    private long total;
+    // Ancho de los intervalos del histograma de precios
+    private double bucketWidth;
+    // Precio mínimo, máximo y medio de todos los platos (null si no hay ninguno con precio)
+    private Double minPrice;
+    private Double maxPrice;
+    private Double avgPrice;
+    private List<CategoryFacet> categories;
+
+    @Data
+    @AllArgsConstructor
+    public static class CategoryFacet {
+        private String category;
+        private long count;
+        private Double minPrice;
+        private Double maxPrice;
+        private Double avgPrice;
+        private List<PriceBucket> histogram;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class PriceBucket {
+        // Intervalo [from, to)
+        private double from;
+        private double to;
+        private long count;
+    }
+}
@@ -0,0 +1,16 @@
+package uis.edu.co.food.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DishPage {
+    // Platos completos, o mapas con solo los campos pedidos si hay proyección (fields)
+    private List<?> items;
+    // Cursor opaco para pedir la siguiente página (null si no hay más)
+    private String nextCursor;
+    private int limit;
+}
@@ -0,0 +1,28 @@
+package uis.edu.co.food.events;
+
+/**
+ * Cambio en el menú publicado por los servicios tras escribir en MongoDB (ApplicationEventPublisher).
+ *
+ * @param entity "dish" o "category"
+ * @param type   "created", "updated", "deleted" o "reload" (cambio masivo: el cliente debe recargar el listado)
+ * @param id     id del documento (null en "reload")
+ * @param data   documento tal como quedó (null en "deleted" y "reload")
+ */
+public record MenuChangeEvent(String entity, String type, String id, Object data) {
+
+    public static MenuChangeEvent created(String entity, String id, Object data) {
+        return new MenuChangeEvent(entity, "created", id, data);
+    }
+
+    public static MenuChangeEvent updated(String entity, String id, Object data) {
+        return new MenuChangeEvent(entity, "updated", id, data);
+    }
+
+    public static MenuChangeEvent deleted(String entity, String id) {
+        return new MenuChangeEvent(entity, "deleted", id, null);
+    }
+
+    public static MenuChangeEvent reload(String entity) {
+        return new MenuChangeEvent(entity, "reload", null, null);
+    }
+}
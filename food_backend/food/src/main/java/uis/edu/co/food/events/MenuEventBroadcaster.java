@@ -0,0 +1,251 @@
+package uis.edu.co.food.events;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Reparte los MenuChangeEvent a los clientes SSE conectados. Cada evento se serializa una sola vez y se
+ * guarda en un buffer circular con un id creciente ("arranque-secuencia"), de modo que un cliente que se
+ * reconecta con Last-Event-ID recibe lo que se perdió; si ya no está en el buffer (o el servidor se
+ * reinició) recibe un evento "reset" y debe recargar el menú.
+ *
+ * Cada cliente tiene una cola acotada que vacía un pool pequeño de hilos: quien publica no espera a la red.
+ * Un cliente cuya cola se llena se desconecta; al reconectar se pone al día desde el buffer.
+ */
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Component
+public class MenuEventBroadcaster {
+
+    private record BufferedEvent(long sequence, String id, String name, String json) {
+    }
+
+    private static final BufferedEvent HEARTBEAT = new BufferedEvent(-1, null, null, null);
+
+    private final ObjectMapper objectMapper;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final BufferedEvent[] buffer;
+    private long sequence; // protegido por el monitor de buffer
+    private final int clientQueueSize;
+    private final int maxClients;
+    private final long timeoutMillis;
+
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+
+    private final Counter published;
+    private final Counter slowClients;
+
+    public MenuEventBroadcaster(
+            ObjectMapper objectMapper,
+            MeterRegistry registry,
+            @Value("${food.menu-events.buffer-size:1000}") int bufferSize,
+            @Value("${food.menu-events.client-queue-size:256}") int clientQueueSize,
+            @Value("${food.menu-events.max-clients:10000}") int maxClients,
+            @Value("${food.menu-events.timeout:30m}") Duration timeout,
+            @Value("${food.menu-events.heartbeat:15s}") Duration heartbeat,
+            @Value("${food.menu-events.send-threads:2}") int sendThreads) {
+
+        this.objectMapper = objectMapper;
+        this.buffer = new BufferedEvent[bufferSize];
+        this.clientQueueSize = clientQueueSize;
+        this.maxClients = maxClients;
+        this.timeoutMillis = timeout.toMillis();
+
+        AtomicInteger counter = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(sendThreads, runnable -> {
+            Thread thread = new Thread(runnable, "menu-events-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "menu-events-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // El comentario periódico mantiene viva la conexión en proxies y detecta clientes que ya no están
+        heartbeats.scheduleAtFixedRate(() -> clients.forEach(client -> client.offer(HEARTBEAT)),
+                heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+
+        this.published = Counter.builder("food.menu-events.published")
+                .description("Cambios del menú enviados a los clientes SSE")
+                .register(registry);
+        this.slowClients = Counter.builder("food.menu-events.dropped")
+                .description("Clientes desconectados por no leer a tiempo")
+                .register(registry);
+        Gauge.builder("food.menu-events.clients", clients, Set::size)
+                .register(registry);
+    }
+
+    @EventListener
+    public void onMenuChange(MenuChangeEvent event) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize menu event", e);
+        }
+
+        // Bajo el mismo monitor que la suscripción: un cliente nuevo recibe cada evento una sola vez
+        synchronized (buffer) {
+            long next = ++sequence;
+            BufferedEvent buffered = new BufferedEvent(next, id(next), event.entity() + "." + event.type(), json);
+            buffer[(int) (next % buffer.length)] = buffered;
+            clients.forEach(client -> client.offer(buffered));
+        }
+        published.increment();
+    }
+
+    /**
+     * Registra un cliente. Sin Last-Event-ID recibe un evento "ready" con la posición actual; con él,
+     * los eventos posteriores que sigan en el buffer o un "reset" si no es posible reanudar.
+     * Devuelve null si se alcanzó food.menu-events.max-clients.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (clients.size() >= maxClients) {
+            return null;
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+
+        synchronized (buffer) {
+            long current = sequence;
+            long oldest = Math.max(1, current - buffer.length + 1);
+            long last = parseSequence(lastEventId);
+            boolean resumable = last >= 0 && last <= current && last + 1 >= oldest;
+
+            // La cola admite además todo lo que hay que reenviar, para no desconectarlo al reanudar
+            Client client = new Client(emitter, clientQueueSize + (resumable ? (int) (current - last) : 1));
+            emitter.onCompletion(client::close);
+            emitter.onTimeout(client::close);
+            emitter.onError(error -> client.close());
+
+            if (lastEventId == null || lastEventId.isBlank()) {
+                client.offer(control("ready", current));
+            } else if (!resumable) {
+                client.offer(control("reset", current));
+            } else {
+                for (long next = last + 1; next <= current; next++) {
+                    client.offer(buffer[(int) (next % buffer.length)]);
+                }
+            }
+            clients.add(client);
+        }
+        return emitter;
+    }
+
+    private String id(long value) {
+        return epoch + "-" + value;
+    }
+
+    // Secuencia de un Last-Event-ID de este arranque; -1 si es de otro arranque o no es válido
+    private long parseSequence(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(epoch + "-")) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private BufferedEvent control(String name, long current) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(Map.of("type", name));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        return new BufferedEvent(current, id(current), name, json);
+    }
+
+    // Al cerrar el contexto, antes del apagado ordenado del servidor: si no, esperaría a que acaben las conexiones SSE
+    @EventListener(ContextClosedEvent.class)
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        clients.forEach(client -> client.emitter.complete());
+        clients.clear();
+    }
+
+    private final class Client {
+
+        final SseEmitter emitter;
+        final ArrayBlockingQueue<BufferedEvent> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean closed;
+
+        Client(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void offer(BufferedEvent event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                slowClients.increment();
+                close();
+                // complete() espera a un send() en curso: no se bloquea a quien publica
+                senders.execute(emitter::complete);
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        // Un solo hilo a la vez por cliente, para respetar el orden de los eventos
+        void drain() {
+            try {
+                BufferedEvent event;
+                while (!closed && (event = queue.poll()) != null) {
+                    emitter.send(event == HEARTBEAT
+                            ? SseEmitter.event().comment("heartbeat")
+                            : SseEmitter.event().id(event.id()).name(event.name()).data(event.json()));
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                draining.set(false);
+                if (!closed && !queue.isEmpty() && draining.compareAndSet(false, true)) {
+                    senders.execute(this::drain);
+                }
+            }
+        }
+
+        void close() {
+            closed = true;
+            queue.clear();
+            clients.remove(this);
+        }
+    }
+}
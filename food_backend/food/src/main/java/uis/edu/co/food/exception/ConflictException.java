@@ -0,0 +1,9 @@
+package uis.edu.co.food.exception;
+
+// Se traduce a 409 Conflict (p. ej. If-Match con una versión que ya no es la actual)
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
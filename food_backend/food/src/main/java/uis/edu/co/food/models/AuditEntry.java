@@ -0,0 +1,37 @@
+package uis.edu.co.food.models;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Data;
+
+/**
+ * Cambio hecho por un administrador sobre un plato o una categoría. Se guarda en una colección capped
+ * (los más antiguos se descartan al llenarse); el _id se genera al registrar el cambio y ordena por tiempo.
+ */
+@Data
+@Document(collection = "audit_log")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AuditEntry {
+
+    public enum Action { CREATE, UPDATE, DELETE }
+
+    @Id
+    private String id;
+
+    private LocalDateTime at;
+    // Usuario autenticado que hizo el cambio ("system" si no había ninguno)
+    private String actor;
+    private Action action;
+    // "dish", "category" o "category-job" (traslado de platos en segundo plano)
+    private String entity;
+    private String entityId;
+    // Resumen antes y después del cambio (nombre, categoría, precio); null en altas y bajas respectivamente
+    private Map<String, Object> before;
+    private Map<String, Object> after;
+}
@@ -1,6 +1,7 @@
 package uis.edu.co.food.models;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import lombok.Data;
 
@@ -9,5 +10,6 @@ import lombok.Data;
 public class Category {
     @Id
     private String id;
+    @Indexed(unique = true)
     private String name;
 }
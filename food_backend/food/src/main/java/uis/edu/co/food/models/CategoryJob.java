@@ -0,0 +1,48 @@
+package uis.edu.co.food.models;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Data;
+
+/**
+ * Trabajo en segundo plano que cambia la categoría de los platos tras renombrar o borrar una categoría.
+ * Se guarda en MongoDB: el progreso se puede consultar desde cualquier instancia y un trabajo
+ * interrumpido lo retoma cualquier instancia cuando caduca su lease. Los terminados se borran solos
+ * a los 7 días (índice TTL).
+ */
+@Data
+@Document(collection = "category_jobs")
+public class CategoryJob {
+
+    public enum Type { RENAME, REASSIGN }
+
+    public enum Status { PENDING, RUNNING, COMPLETED, FAILED }
+
+    @Id
+    private String id;
+
+    private Type type;
+    private String categoryId;
+    private String fromCategory;
+    private String toCategory;
+
+    private Status status;
+    // Platos en fromCategory al empezar y platos ya movidos
+    private long total;
+    private long processed;
+    private String error;
+
+    // Instancia que lo está ejecutando y hasta cuándo; cada bloque movido renueva el lease
+    private String owner;
+    private LocalDateTime leaseUntil;
+
+    @Indexed
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    @Indexed(name = "finishedAt_ttl", expireAfter = "7d")
+    private LocalDateTime finishedAt;
+}
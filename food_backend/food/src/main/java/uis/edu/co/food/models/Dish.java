@@ -2,14 +2,29 @@ package uis.edu.co.food.models;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.Data;
+import uis.edu.co.food.search.DishFilter;
 
 @Data
 @Document(collection = "dishes")
+// Filtro por categoría + campos de orden de la paginación (_id desempata); updatedAt para la exportación
+@CompoundIndex(name = "category_id", def = "{'category': 1, '_id': 1}")
+@CompoundIndex(name = "category_name_id", def = "{'category': 1, 'name': 1, '_id': 1}")
+@CompoundIndex(name = "category_price_id", def = "{'category': 1, 'price': 1, '_id': 1}")
+@CompoundIndex(name = "category_createdAt_id", def = "{'category': 1, 'createdAt': 1, '_id': 1}")
+@CompoundIndex(name = "category_updatedAt_id", def = "{'category': 1, 'updatedAt': 1, '_id': 1}")
+@CompoundIndex(name = "updatedAt_id", def = "{'updatedAt': 1, '_id': 1}")
+// Multikey para filtrar por ingredientes en la paginación (sobre la forma normalizada)
+@CompoundIndex(name = "ingredientKeys", def = "{'ingredientKeys': 1}")
 public class Dish {
 
     @Id
@@ -21,10 +36,35 @@ public class Dish {
     private String description;
     private String imageUrl;
     private List<String> ingredientes;
+
+    // Ingredientes normalizados con DishFilter.normalize; los filtros de MongoDB comparan aquí sin collation
+    @JsonIgnore
+    private List<String> ingredientKeys;
     
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // Bloqueo optimista: cada escritura lo incrementa; es la base del ETag de un plato
+    @Version
+    private Long version;
+
+    public void setIngredientes(List<String> ingredientes) {
+        this.ingredientes = ingredientes;
+        this.ingredientKeys = ingredientKeysOf(ingredientes);
+    }
+
+    public static List<String> ingredientKeysOf(List<String> ingredientes) {
+        if (ingredientes == null) {
+            return null;
+        }
+        return ingredientes.stream()
+                .filter(Objects::nonNull)
+                .map(DishFilter::normalize)
+                .filter(key -> !key.isEmpty())
+                .distinct()
+                .toList();
+    }
+
     // Se ejecuta antes de guardar (puedes usar @PrePersist si lo prefieres)
     public void prePersist() {
         if (this.createdAt == null) {
@@ -0,0 +1,12 @@
+package uis.edu.co.food.repositories;
+
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import uis.edu.co.food.models.CategoryJob;
+
+public interface CategoryJobRepository extends MongoRepository<CategoryJob, String> {
+
+    List<CategoryJob> findTop20ByOrderByCreatedAtDesc();
+}
@@ -4,6 +4,9 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import uis.edu.co.food.models.Category;
 import java.util.Optional;
 
-public interface CategoryRepository extends MongoRepository<Category, String> {
+public interface CategoryRepository extends MongoRepository<Category, String>, CategoryRepositoryCustom {
     Optional<Category> findByName(String name);
+
+    // Borra sin leer antes; devuelve cuántos documentos se borraron (0 si no existía)
+    long deleteCategoryById(String id);
 }
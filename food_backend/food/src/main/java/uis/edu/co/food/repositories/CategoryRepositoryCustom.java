@@ -0,0 +1,9 @@
+package uis.edu.co.food.repositories;
+
+import uis.edu.co.food.models.Category;
+
+public interface CategoryRepositoryCustom {
+
+    // Renombra en una sola operación findAndModify; devuelve la categoría actualizada o null si no existe
+    Category updateName(String id, String name);
+}
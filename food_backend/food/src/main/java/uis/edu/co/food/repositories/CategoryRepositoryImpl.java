@@ -0,0 +1,25 @@
+package uis.edu.co.food.repositories;
+
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import lombok.RequiredArgsConstructor;
+import uis.edu.co.food.models.Category;
+
+@RequiredArgsConstructor
+public class CategoryRepositoryImpl implements CategoryRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Category updateName(String id, String name) {
+        return mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(id)),
+                new Update().set("name", name),
+                FindAndModifyOptions.options().returnNew(true),
+                Category.class);
+    }
+}
@@ -0,0 +1,29 @@
+package uis.edu.co.food.repositories;
+
+import java.util.List;
+import java.util.Set;
+
+import lombok.Data;
+
+/**
+ * Consulta paginada por cursor (keyset) sobre la colección de platos.
+ * El cursor es el valor del campo de orden y el id del último elemento de la página anterior.
+ */
+@Data
+public class DishPageQuery {
+    private String category;
+    // Ingredientes que deben estar todos / ninguno (comparados sin mayúsculas ni tildes)
+    private List<String> includeIngredients = List.of();
+    private List<String> excludeIngredients = List.of();
+    private Double minPrice;
+    private Double maxPrice;
+    // Campo de MongoDB por el que se ordena ("_id", "createdAt", "price", ...)
+    private String sortField;
+    private boolean descending;
+    // Posición tras la que empieza la página (null = primera página)
+    private Object afterValue;
+    private String afterId;
+    private int limit;
+    // Campos a devolver; vacío = documento completo
+    private Set<String> fields;
+}
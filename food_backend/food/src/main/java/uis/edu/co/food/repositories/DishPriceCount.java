@@ -0,0 +1,5 @@
+package uis.edu.co.food.repositories;
+
+// Número de platos con la misma categoría y el mismo precio (resultado de la agregación de facetas)
+public record DishPriceCount(String category, Double price, long count) {
+}
@@ -3,29 +3,22 @@ package uis.edu.co.food.repositories;
 import java.util.List;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
-import org.springframework.data.mongodb.repository.Query;
 
 import uis.edu.co.food.models.Dish;
 
-public interface DishRepository extends MongoRepository<Dish, String> {
+public interface DishRepository extends MongoRepository<Dish, String>, DishRepositoryCustom {
     
     // Buscar por categoría exacta
     List<Dish> findByCategory(String category);
     
     // Buscar por nombre (case insensitive, contiene)
     List<Dish> findByNameContainingIgnoreCase(String name);
-    
-    // Búsqueda combinada: nombre O descripción (case insensitive)
-    @Query("{ $or: [ " +
-           "{ 'name': { $regex: ?0, $options: 'i' } }, " +
-           "{ 'description': { $regex: ?0, $options: 'i' } } " +
-           "] }")
-    List<Dish> searchByNameOrDescription(String searchTerm);
-    
-    // Buscar por categoría Y que contenga texto en nombre/descripción
-    @Query("{ 'category': ?0, $or: [ " +
-           "{ 'name': { $regex: ?1, $options: 'i' } }, " +
-           "{ 'description': { $regex: ?1, $options: 'i' } } " +
-           "] }")
-    List<Dish> findByCategoryAndSearch(String category, String searchTerm);
+
+    // ¿Algún plato usa la categoría? Usa el índice por categoría y se detiene en el primero
+    boolean existsByCategory(String category);
+
+    long countByCategory(String category);
+
+    // Borra sin leer antes; devuelve cuántos documentos se borraron (0 si no existía)
+    long deleteDishById(String id);
 }
\ No newline at end of file
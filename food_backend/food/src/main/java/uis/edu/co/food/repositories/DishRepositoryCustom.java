@@ -0,0 +1,39 @@
+package uis.edu.co.food.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import uis.edu.co.food.models.Dish;
+
+public interface DishRepositoryCustom {
+
+    // Página de platos con orden, límite y proyección resueltos en MongoDB
+    List<Dish> findPage(DishPageQuery query);
+
+    // Recorre la colección con un cursor de MongoDB (hay que cerrar el Stream)
+    Stream<Dish> streamForExport(String category, LocalDateTime updatedAfter, int batchSize);
+
+    /**
+     * Aplica $set de los campos indicados e incrementa la versión en una sola operación findAndModify.
+     * Con expectedVersion solo actualiza si coincide. Devuelve el plato actualizado o null si no hubo coincidencia.
+     */
+    Dish updateFields(String id, Long expectedVersion, Map<String, Object> changes);
+
+    // Cuenta los platos por (categoría, precio) en MongoDB; base de las facetas del menú
+    List<DishPriceCount> countByCategoryAndPrice();
+
+    // Id, categoría y precio de cada plato con un cursor de MongoDB (hay que cerrar el Stream)
+    Stream<Dish> streamPrices(int batchSize);
+
+    // Ids de hasta limit platos de la categoría (solo el _id, desde el índice por categoría)
+    List<String> findIdsByCategory(String category, int limit);
+
+    /**
+     * Pasa a la categoría "to" los platos indicados que sigan en "from", con un único updateMany.
+     * Sube la versión de cada plato (un If-Match anterior deja de valer). Devuelve cuántos cambiaron.
+     */
+    long moveToCategory(Collection<String> ids, String from, String to);
+}
@@ -0,0 +1,192 @@
+package uis.edu.co.food.repositories;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import lombok.RequiredArgsConstructor;
+import uis.edu.co.food.models.Dish;
+
+@RequiredArgsConstructor
+public class DishRepositoryImpl implements DishRepositoryCustom {
+
+    private static final String ID = "_id";
+    private static final String VERSION = "version";
+    private static final String INGREDIENTS = "ingredientes";
+    // Los filtros llegan normalizados (DishFilter) y se comparan con la forma normalizada guardada
+    private static final String INGREDIENT_KEYS = "ingredientKeys";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Dish> findPage(DishPageQuery page) {
+        List<Criteria> filters = new ArrayList<>();
+
+        if (page.getCategory() != null && !page.getCategory().isEmpty()) {
+            filters.add(Criteria.where("category").is(page.getCategory()));
+        }
+        if (!page.getIncludeIngredients().isEmpty()) {
+            filters.add(Criteria.where(INGREDIENT_KEYS).all(page.getIncludeIngredients()));
+        }
+        if (!page.getExcludeIngredients().isEmpty()) {
+            filters.add(Criteria.where(INGREDIENT_KEYS).nin(page.getExcludeIngredients()));
+        }
+        if (page.getMinPrice() != null || page.getMaxPrice() != null) {
+            Criteria price = Criteria.where("price");
+            if (page.getMinPrice() != null) {
+                price.gte(page.getMinPrice());
+            }
+            if (page.getMaxPrice() != null) {
+                price.lte(page.getMaxPrice());
+            }
+            filters.add(price);
+        }
+        if (page.getAfterId() != null) {
+            filters.add(after(page));
+        }
+
+        Query query = new Query();
+        if (!filters.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(filters));
+        }
+
+        Sort.Direction direction = page.isDescending() ? Sort.Direction.DESC : Sort.Direction.ASC;
+        if (ID.equals(page.getSortField())) {
+            query.with(Sort.by(direction, ID));
+        } else {
+            // _id desempata valores repetidos del campo de orden
+            query.with(Sort.by(direction, page.getSortField(), ID));
+        }
+
+        if (page.getFields() != null && !page.getFields().isEmpty()) {
+            page.getFields().forEach(field -> query.fields().include(field));
+            // El campo de orden es necesario para construir el siguiente cursor
+            query.fields().include(page.getSortField());
+        }
+
+        query.limit(page.getLimit());
+        return mongoTemplate.find(query, Dish.class);
+    }
+
+    @Override
+    public Stream<Dish> streamForExport(String category, LocalDateTime updatedAfter, int batchSize) {
+        Query query = new Query();
+        if (category != null && !category.isEmpty()) {
+            query.addCriteria(Criteria.where("category").is(category));
+        }
+        if (updatedAfter != null) {
+            query.addCriteria(Criteria.where("updatedAt").gt(updatedAfter));
+        }
+        query.with(Sort.by(Sort.Direction.ASC, ID));
+        query.cursorBatchSize(batchSize);
+        return mongoTemplate.stream(query, Dish.class);
+    }
+
+    @Override
+    public Dish updateFields(String id, Long expectedVersion, Map<String, Object> changes) {
+        Query query = new Query(Criteria.where(ID).is(id));
+        if (expectedVersion != null) {
+            query.addCriteria(Criteria.where(VERSION).is(expectedVersion));
+        }
+
+        Update update = new Update();
+        changes.forEach(update::set);
+        if (changes.containsKey(INGREDIENTS)) {
+            @SuppressWarnings("unchecked")
+            List<String> ingredientes = (List<String>) changes.get(INGREDIENTS);
+            update.set(INGREDIENT_KEYS, Dish.ingredientKeysOf(ingredientes));
+        }
+        update.set("updatedAt", LocalDateTime.now());
+        update.inc(VERSION, 1);
+
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Dish.class);
+    }
+
+    @Override
+    public List<DishPriceCount> countByCategoryAndPrice() {
+        // Un documento pequeño por (categoría, precio): los precios distintos son pocos frente a los platos
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.group("category", "price").count().as("count"))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+        List<DishPriceCount> counts = new ArrayList<>();
+        for (Document group : mongoTemplate.aggregate(aggregation, Dish.class, Document.class)) {
+            Document key = group.get(ID, Document.class);
+            Number price = key.get("price", Number.class);
+            counts.add(new DishPriceCount(key.getString("category"), price == null ? null : price.doubleValue(),
+                    group.get("count", Number.class).longValue()));
+        }
+        return counts;
+    }
+
+    @Override
+    public Stream<Dish> streamPrices(int batchSize) {
+        Query query = new Query();
+        query.fields().include("category").include("price");
+        query.cursorBatchSize(batchSize);
+        return mongoTemplate.stream(query, Dish.class);
+    }
+
+    @Override
+    public List<String> findIdsByCategory(String category, int limit) {
+        Query query = new Query(Criteria.where("category").is(category)).limit(limit);
+        query.fields().include(ID);
+        return mongoTemplate.find(query, Dish.class).stream().map(Dish::getId).toList();
+    }
+
+    @Override
+    public long moveToCategory(Collection<String> ids, String from, String to) {
+        Query query = new Query(Criteria.where(ID).in(ids.stream().map(DishRepositoryImpl::toObjectId).toList())
+                .and("category").is(from));
+        Update update = new Update()
+                .set("category", to)
+                .set("updatedAt", LocalDateTime.now())
+                .inc(VERSION, 1);
+        return mongoTemplate.updateMulti(query, update, Dish.class).getModifiedCount();
+    }
+
+    // Condición keyset: documentos posteriores a (afterValue, afterId) según el orden pedido
+    static Criteria after(DishPageQuery page) {
+        Object afterId = toObjectId(page.getAfterId());
+        String field = page.getSortField();
+        boolean desc = page.isDescending();
+
+        if (ID.equals(field)) {
+            return desc ? Criteria.where(ID).lt(afterId) : Criteria.where(ID).gt(afterId);
+        }
+
+        Object value = page.getAfterValue();
+        Criteria sameValueNextId = desc
+                ? Criteria.where(field).is(value).and(ID).lt(afterId)
+                : Criteria.where(field).is(value).and(ID).gt(afterId);
+
+        // MongoDB ordena null antes que cualquier valor: en ascendente van al principio, en descendente al final
+        if (value == null) {
+            return desc
+                    ? sameValueNextId
+                    : new Criteria().orOperator(sameValueNextId, Criteria.where(field).ne(null));
+        }
+        if (desc) {
+            return new Criteria().orOperator(Criteria.where(field).lt(value), sameValueNextId, Criteria.where(field).is(null));
+        }
+        return new Criteria().orOperator(Criteria.where(field).gt(value), sameValueNextId);
+    }
+
+    private static Object toObjectId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+}
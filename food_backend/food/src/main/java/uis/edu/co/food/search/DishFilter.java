@@ -0,0 +1,66 @@
+package uis.edu.co.food.search;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Filtros del listado de platos por ingredientes y rango de precio.
+ * Los ingredientes se guardan normalizados (minúsculas, sin tildes): "Maní" y "mani" son el mismo.
+ */
+public record DishFilter(Set<String> includeIngredients, Set<String> excludeIngredients,
+                         Double minPrice, Double maxPrice) {
+
+    public static final DishFilter NONE = new DishFilter(Set.of(), Set.of(), null, null);
+
+    // Listas separadas por comas, tal como llegan en la query string
+    public static DishFilter of(String ingredients, String excludeIngredients, Double minPrice, Double maxPrice) {
+        if (minPrice != null && minPrice < 0 || maxPrice != null && maxPrice < 0) {
+            throw new IllegalArgumentException("Price range must not be negative");
+        }
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+        return new DishFilter(parse(ingredients), parse(excludeIngredients), minPrice, maxPrice);
+    }
+
+    private static Set<String> parse(String list) {
+        Set<String> ingredients = new LinkedHashSet<>();
+        if (list == null) {
+            return ingredients;
+        }
+        Arrays.stream(list.split(",")).map(DishFilter::normalize).filter(i -> !i.isEmpty()).forEach(ingredients::add);
+        return ingredients;
+    }
+
+    // Clave con la que se indexa un ingrediente: "  Queso  Crema " -> "queso crema"
+    public static String normalize(String ingredient) {
+        return String.join(" ", TextNormalizer.fold(ingredient).trim().split("\\s+"));
+    }
+
+    public boolean hasIngredients() {
+        return !includeIngredients.isEmpty() || !excludeIngredients.isEmpty();
+    }
+
+    public boolean hasPriceRange() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    public boolean isEmpty() {
+        return !hasIngredients() && !hasPriceRange();
+    }
+
+    // Forma canónica para la caché de respuestas (ingredientes ordenados)
+    public String key() {
+        if (isEmpty()) {
+            return "";
+        }
+        return sorted(includeIngredients) + "|" + sorted(excludeIngredients)
+                + "|" + (minPrice == null ? "" : minPrice) + "|" + (maxPrice == null ? "" : maxPrice);
+    }
+
+    private static String sorted(Set<String> ingredients) {
+        return ingredients.stream().sorted().collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,144 @@
+package uis.edu.co.food.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import uis.edu.co.food.models.Dish;
+
+/**
+ * Índice inmutable por ingrediente, categoría y precio sobre una foto del catálogo.
+ * Cada ingrediente normalizado apunta a un bitmap comprimido (Roaring) con las posiciones de sus platos,
+ * así "con queso, sin maní ni gluten" se resuelve con AND / ANDNOT de bitmaps en lugar de recorrer los platos.
+ * El rango de precio sale de las posiciones ordenadas por precio (dos búsquedas binarias).
+ */
+public final class DishIngredientIndex {
+
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final List<Dish> dishes;
+    private final Map<String, Integer> ordinals;
+    private final Map<String, RoaringBitmap> byIngredient;
+    private final Map<String, RoaringBitmap> byCategory;
+    // Posiciones de los platos con precio, ordenadas por precio, y sus precios en el mismo orden
+    private final int[] byPrice;
+    private final double[] prices;
+
+    private DishIngredientIndex(List<Dish> dishes, Map<String, Integer> ordinals,
+                                Map<String, RoaringBitmap> byIngredient, Map<String, RoaringBitmap> byCategory,
+                                int[] byPrice, double[] prices) {
+        this.dishes = dishes;
+        this.ordinals = ordinals;
+        this.byIngredient = byIngredient;
+        this.byCategory = byCategory;
+        this.byPrice = byPrice;
+        this.prices = prices;
+    }
+
+    public static DishIngredientIndex build(List<Dish> dishes) {
+        Map<String, Integer> ordinals = new HashMap<>();
+        Map<String, RoaringBitmap> ingredients = new HashMap<>();
+        Map<String, RoaringBitmap> categories = new HashMap<>();
+
+        for (int ordinal = 0; ordinal < dishes.size(); ordinal++) {
+            Dish dish = dishes.get(ordinal);
+            ordinals.put(dish.getId(), ordinal);
+            categories.computeIfAbsent(dish.getCategory(), k -> new RoaringBitmap()).add(ordinal);
+            if (dish.getIngredientes() != null) {
+                for (String ingredient : dish.getIngredientes()) {
+                    String key = DishFilter.normalize(ingredient);
+                    if (!key.isEmpty()) {
+                        ingredients.computeIfAbsent(key, k -> new RoaringBitmap()).add(ordinal);
+                    }
+                }
+            }
+        }
+        ingredients.values().forEach(RoaringBitmap::runOptimize);
+        categories.values().forEach(RoaringBitmap::runOptimize);
+
+        int[] byPrice = IntStream.range(0, dishes.size())
+                .filter(ordinal -> dishes.get(ordinal).getPrice() != null)
+                .boxed()
+                .sorted(Comparator.comparingDouble(ordinal -> dishes.get(ordinal).getPrice()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        double[] prices = Arrays.stream(byPrice).mapToDouble(ordinal -> dishes.get(ordinal).getPrice()).toArray();
+
+        return new DishIngredientIndex(List.copyOf(dishes), ordinals, ingredients, categories, byPrice, prices);
+    }
+
+    // Posiciones de los platos que cumplen la categoría (opcional) y el filtro
+    public RoaringBitmap matching(String category, DishFilter filter) {
+        RoaringBitmap result = category != null && !category.isEmpty()
+                ? byCategory.getOrDefault(category, EMPTY).clone()
+                : RoaringBitmap.bitmapOfRange(0, dishes.size());
+
+        for (String ingredient : filter.includeIngredients()) {
+            result.and(byIngredient.getOrDefault(ingredient, EMPTY));
+        }
+        if (!filter.excludeIngredients().isEmpty()) {
+            result.andNot(FastAggregation.or(filter.excludeIngredients().stream()
+                    .map(ingredient -> byIngredient.getOrDefault(ingredient, EMPTY))
+                    .iterator()));
+        }
+        if (filter.hasPriceRange()) {
+            int from = filter.minPrice() == null ? 0 : firstAtLeast(filter.minPrice());
+            int to = filter.maxPrice() == null ? prices.length : firstAbove(filter.maxPrice());
+            RoaringBitmap inRange = new RoaringBitmap();
+            if (from < to) {
+                inRange.addN(byPrice, from, to - from);
+            }
+            result.and(inRange);
+        }
+        return result;
+    }
+
+    // Platos de las posiciones dadas, en el orden del catálogo
+    public List<Dish> select(RoaringBitmap matches) {
+        List<Dish> result = new ArrayList<>(matches.getCardinality());
+        matches.forEach((int ordinal) -> result.add(dishes.get(ordinal)));
+        return result;
+    }
+
+    public boolean contains(RoaringBitmap matches, Dish dish) {
+        Integer ordinal = ordinals.get(dish.getId());
+        return ordinal != null && matches.contains(ordinal);
+    }
+
+    // Primera posición de prices con valor >= price
+    private int firstAtLeast(double price) {
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] < price) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Primera posición de prices con valor > price
+    private int firstAbove(double price) {
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] <= price) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,120 @@
+package uis.edu.co.food.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import uis.edu.co.food.models.Dish;
+
+/**
+ * Índice invertido inmutable sobre nombre y descripción de los platos.
+ * Cada término de la consulta debe coincidir (exacto o como prefijo) en el nombre o la descripción;
+ * los resultados se ordenan por relevancia.
+ */
+public final class DishSearchIndex {
+
+    // Pesos de relevancia por tipo de coincidencia
+    private static final double NAME_EXACT = 3.0;
+    private static final double NAME_PREFIX = 2.0;
+    private static final double DESCRIPTION_EXACT = 1.0;
+    private static final double DESCRIPTION_PREFIX = 0.5;
+
+    private final List<Dish> dishes;
+    private final NavigableMap<String, int[]> nameTerms;
+    private final NavigableMap<String, int[]> descriptionTerms;
+
+    private DishSearchIndex(List<Dish> dishes,
+                            NavigableMap<String, int[]> nameTerms,
+                            NavigableMap<String, int[]> descriptionTerms) {
+        this.dishes = dishes;
+        this.nameTerms = nameTerms;
+        this.descriptionTerms = descriptionTerms;
+    }
+
+    public static DishSearchIndex build(List<Dish> dishes) {
+        Map<String, List<Integer>> names = new HashMap<>();
+        Map<String, List<Integer>> descriptions = new HashMap<>();
+
+        for (int ordinal = 0; ordinal < dishes.size(); ordinal++) {
+            Dish dish = dishes.get(ordinal);
+            addPostings(names, dish.getName(), ordinal);
+            addPostings(descriptions, dish.getDescription(), ordinal);
+        }
+
+        return new DishSearchIndex(List.copyOf(dishes), toPostings(names), toPostings(descriptions));
+    }
+
+    private static void addPostings(Map<String, List<Integer>> terms, String text, int ordinal) {
+        for (String token : new LinkedHashSet<>(TextNormalizer.tokenize(text))) {
+            terms.computeIfAbsent(token, k -> new ArrayList<>()).add(ordinal);
+        }
+    }
+
+    private static NavigableMap<String, int[]> toPostings(Map<String, List<Integer>> terms) {
+        TreeMap<String, int[]> postings = new TreeMap<>();
+        terms.forEach((token, ordinals) ->
+                postings.put(token, ordinals.stream().mapToInt(Integer::intValue).toArray()));
+        return Collections.unmodifiableNavigableMap(postings);
+    }
+
+    // Busca los platos que coinciden con todos los términos, opcionalmente dentro de una categoría
+    public List<Dish> search(String query, String category) {
+        List<String> terms = TextNormalizer.tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, Double> scores = null;
+        for (String term : terms) {
+            Map<Integer, Double> termScores = scoreTerm(term);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((ordinal, score) -> score + termScores.get(ordinal));
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        boolean filterCategory = category != null && !category.isEmpty();
+        List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Integer, Double>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+
+        List<Dish> result = new ArrayList<>(ranked.size());
+        for (Map.Entry<Integer, Double> entry : ranked) {
+            Dish dish = dishes.get(entry.getKey());
+            if (!filterCategory || category.equals(dish.getCategory())) {
+                result.add(dish);
+            }
+        }
+        return result;
+    }
+
+    // Mejor puntuación de un término para cada plato en el que aparece
+    private Map<Integer, Double> scoreTerm(String term) {
+        Map<Integer, Double> scores = new HashMap<>();
+        collect(scores, nameTerms, term, NAME_EXACT, NAME_PREFIX);
+        collect(scores, descriptionTerms, term, DESCRIPTION_EXACT, DESCRIPTION_PREFIX);
+        return scores;
+    }
+
+    private static void collect(Map<Integer, Double> scores, NavigableMap<String, int[]> terms,
+                                String term, double exactWeight, double prefixWeight) {
+        // Rango [term, term + MAX_VALUE) = todos los términos que empiezan por "term"
+        for (Map.Entry<String, int[]> entry : terms.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+            double weight = entry.getKey().equals(term) ? exactWeight : prefixWeight;
+            for (int ordinal : entry.getValue()) {
+                scores.merge(ordinal, weight, Math::max);
+            }
+        }
+    }
+}
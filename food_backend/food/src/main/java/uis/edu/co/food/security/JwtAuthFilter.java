@@ -1,8 +1,12 @@
 package uis.edu.co.food.security;
 
 import java.io.IOException;
+import java.util.Date;
 import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -10,19 +14,51 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import uis.edu.co.food.config.JwtUtil;
+import uis.edu.co.food.security.VerifiedTokenCache.VerifiedToken;
 
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthFilter.class);
+
     private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache tokenCache;
+
+    private final Counter cachedTokens;
+    private final Counter verifiedTokens;
+    private final Counter invalidTokens;
+    private final Counter failedTokens;
+    private final Timer verification;
 
-    public JwtAuthFilter(JwtUtil jwtUtil) {
+    public JwtAuthFilter(JwtUtil jwtUtil, VerifiedTokenCache tokenCache, MeterRegistry registry) {
         this.jwtUtil = jwtUtil;
+        this.tokenCache = tokenCache;
+        this.cachedTokens = tokenCounter(registry, "cached");
+        this.verifiedTokens = tokenCounter(registry, "verified");
+        this.invalidTokens = tokenCounter(registry, "invalid");
+        this.failedTokens = tokenCounter(registry, "error");
+        this.verification = Timer.builder("food.jwt.verification")
+                .description("Verificación de firma y lectura de claims de un token no cacheado")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Counter tokenCounter(MeterRegistry registry, String result) {
+        return Counter.builder("food.jwt.tokens")
+                .tag("result", result)
+                .description("Tokens Bearer procesados por el filtro")
+                .register(registry);
     }
 
     @Override
@@ -40,15 +76,23 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String token = authHeader.substring(7);
 
         try {
-            // Usar las utilidades de JwtUtil para validar y extraer claims
-            if (!jwtUtil.validateToken(token)) {
-                System.out.println("JWT inválido o expirado (validateToken = false).");
-                filterChain.doFilter(request, response);
-                return;
+            VerifiedToken verified = tokenCache.get(token);
+            if (verified == null) {
+                // Una sola verificación de firma por token; los claims se leen de ese mismo parseo
+                Claims claims = verification.record(() -> jwtUtil.getAllClaims(token));
+                Date expiration = claims.getExpiration();
+                if (expiration == null) {
+                    throw new JwtException("JWT sin fecha de expiración");
+                }
+                verified = new VerifiedToken(claims.getSubject(), claims.get("role", String.class), expiration.getTime());
+                tokenCache.put(token, verified);
+                verifiedTokens.increment();
+            } else {
+                cachedTokens.increment();
             }
 
-            String username = jwtUtil.getSubject(token);
-            String role = jwtUtil.getRoleFromToken(token);
+            String username = verified.username();
+            String role = verified.role();
 
             var authToken = new UsernamePasswordAuthenticationToken(
                     username,
@@ -59,9 +103,14 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
             SecurityContextHolder.getContext().setAuthentication(authToken);
 
+        } catch (JwtException e) {
+            // token inválido, expirado o firma fallida
+            invalidTokens.increment();
+            log.debug("JWT inválido o expirado: {}", e.getMessage());
         } catch (Exception e) {
             // loguear y seguir (no setear auth) para que Spring devuelva 401/403 si corresponde
-            System.out.println("Error procesando JWT en filtro: " + e.getMessage());
+            failedTokens.increment();
+            log.warn("Error procesando JWT en filtro: {}", e.getMessage());
         }
 
         filterChain.doFilter(request, response);
@@ -0,0 +1,139 @@
+package uis.edu.co.food.security;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import uis.edu.co.food.exception.TooManyRequestsException;
+
+/**
+ * Limita por cliente las peticiones costosas antes de que lleguen a los controladores:
+ * login/registro (BCrypt) por IP, búsquedas y escrituras de administración por usuario autenticado
+ * o, si no lo hay, por IP. Va después de JwtAuthFilter para conocer al usuario. Al agotar el
+ * presupuesto responde 429 con Retry-After, con el mismo cuerpo que GlobalExceptionHandler.
+ */
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final RateLimiter limiter;
+    private final RateLimiter.Policy login;
+    private final RateLimiter.Policy search;
+    private final RateLimiter.Policy admin;
+    private final HandlerExceptionResolver exceptionResolver;
+
+    private final Map<String, Counter> rejected;
+
+    public RateLimitFilter(
+            @Value("${food.rate-limit.enabled:true}") boolean enabled,
+            @Value("${food.rate-limit.login.capacity:10}") int loginCapacity,
+            @Value("${food.rate-limit.login.period:1m}") Duration loginPeriod,
+            @Value("${food.rate-limit.search.capacity:120}") int searchCapacity,
+            @Value("${food.rate-limit.search.period:1m}") Duration searchPeriod,
+            @Value("${food.rate-limit.admin.capacity:60}") int adminCapacity,
+            @Value("${food.rate-limit.admin.period:1m}") Duration adminPeriod,
+            @Value("${food.rate-limit.idle-timeout:10m}") Duration idleTimeout,
+            @Value("${food.rate-limit.max-clients:100000}") int maxClients,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+            MeterRegistry registry) {
+        this.enabled = enabled;
+        this.limiter = new RateLimiter(idleTimeout, maxClients);
+        this.login = new RateLimiter.Policy("login", loginCapacity, loginPeriod);
+        this.search = new RateLimiter.Policy("search", searchCapacity, searchPeriod);
+        this.admin = new RateLimiter.Policy("admin", adminCapacity, adminPeriod);
+        this.exceptionResolver = exceptionResolver;
+
+        this.rejected = Map.of(
+                "login", rejectedCounter(registry, "login"),
+                "search", rejectedCounter(registry, "search"),
+                "admin", rejectedCounter(registry, "admin"));
+        Gauge.builder("food.rate-limit.clients", limiter, RateLimiter::size)
+                .description("Cubos de clientes en memoria")
+                .register(registry);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry registry, String policy) {
+        return Counter.builder("food.rate-limit.rejected")
+                .tag("policy", policy)
+                .description("Peticiones rechazadas con 429 por agotar el presupuesto del cliente")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        RateLimiter.Policy policy = policyFor(request);
+        if (policy == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = limiter.tryAcquire(policy, clientOf(request, policy));
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rejected.get(policy.name()).increment();
+        // Retry-After en segundos enteros, redondeado hacia arriba
+        long retryAfterSeconds = (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+        exceptionResolver.resolveException(request, response, null,
+                new TooManyRequestsException("Too many requests, try again later", retryAfterSeconds));
+    }
+
+    private RateLimiter.Policy policyFor(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+
+        if ("POST".equals(method) && (path.equals("/api/auth/login") || path.equals("/api/auth/register"))) {
+            return login;
+        }
+        if ("GET".equals(method) && path.startsWith("/api/dishes")) {
+            String query = request.getParameter("search");
+            return query != null && !query.isBlank() ? search : null;
+        }
+        boolean write = "POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method) || "DELETE".equals(method);
+        if (write && (path.startsWith("/api/dishes") || path.startsWith("/api/categories"))) {
+            return admin;
+        }
+        return null;
+    }
+
+    // El login es siempre por IP (aún no hay usuario); el resto por usuario si el JWT es válido
+    private static String clientOf(HttpServletRequest request, RateLimiter.Policy policy) {
+        if (!"login".equals(policy.name())) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()
+                    && !(authentication instanceof AnonymousAuthenticationToken)) {
+                return "user:" + authentication.getName();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
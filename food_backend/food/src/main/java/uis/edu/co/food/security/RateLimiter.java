@@ -0,0 +1,114 @@
+package uis.edu.co.food.security;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket por cliente sin bloqueos. Cada cubo es un único AtomicLong con el instante teórico
+ * en que volvería a estar lleno (algoritmo GCRA): admitir una petición es leer el reloj y hacer un CAS,
+ * sin hilo de recarga ni locks. Los cubos llenos e inactivos durante idle-timeout se eliminan
+ * en un barrido que hace, de vez en cuando, la propia petición que llega.
+ */
+public final class RateLimiter {
+
+    /** Presupuesto: capacity peticiones de ráfaga, recargado por completo en period. */
+    public record Policy(String name, int capacity, Duration period) {
+
+        public Policy {
+            if (capacity < 1 || period.isNegative() || period.isZero()) {
+                throw new IllegalArgumentException("Rate limit policy " + name + " needs capacity >= 1 and a positive period");
+            }
+        }
+
+        // Tiempo entre dos tokens
+        long intervalNanos() {
+            return Math.max(1, period.toNanos() / capacity);
+        }
+
+        // Adelanto máximo permitido sobre el reloj: capacity - 1 tokens consumidos de golpe
+        long toleranceNanos() {
+            return intervalNanos() * (capacity - 1);
+        }
+    }
+
+    private static final long NEVER = Long.MIN_VALUE;
+    // Con el mapa lleno, como mucho un barrido extra por segundo (recorrerlo en cada cliente nuevo sería O(n))
+    private static final long FULL_SWEEP_NANOS = 1_000_000_000L;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+    private final long idleNanos;
+    private final int maxClients;
+    private final AtomicLong nextSweep;
+    private final AtomicLong nextFullSweep;
+
+    public RateLimiter(Duration idleTimeout, int maxClients) {
+        this(idleTimeout, maxClients, System::nanoTime);
+    }
+
+    RateLimiter(Duration idleTimeout, int maxClients, LongSupplier clock) {
+        this.clock = clock;
+        this.idleNanos = idleTimeout.toNanos();
+        this.maxClients = maxClients;
+        this.nextSweep = new AtomicLong(clock.getAsLong() + idleNanos);
+        this.nextFullSweep = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * Consume un token del cubo (policy, client). Devuelve 0 si se admite o los nanosegundos que faltan
+     * para el siguiente token si se rechaza. Si ya hay max-clients cubos y ninguno está inactivo,
+     * se admite sin contabilizar (mejor dejar pasar que rechazar a clientes nuevos por falta de memoria).
+     */
+    public long tryAcquire(Policy policy, String client) {
+        long now = clock.getAsLong();
+        sweepIfDue(nextSweep, idleNanos, now);
+
+        String key = policy.name() + '\u0000' + client;
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxClients) {
+                sweepIfDue(nextFullSweep, FULL_SWEEP_NANOS, now);
+                if (buckets.size() >= maxClients) {
+                    return 0;
+                }
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(NEVER));
+        }
+
+        long interval = policy.intervalNanos();
+        long tolerance = policy.toleranceNanos();
+        while (true) {
+            long current = bucket.get();
+            long theoretical = current == NEVER ? now : Math.max(current, now);
+            long ahead = theoretical - now;
+            if (ahead > tolerance) {
+                return ahead - tolerance;
+            }
+            if (bucket.compareAndSet(current, theoretical + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private void sweepIfDue(AtomicLong next, long intervalNanos, long now) {
+        long due = next.get();
+        // Solo el hilo que gana el CAS hace el barrido
+        if (now - due >= 0 && next.compareAndSet(due, now + intervalNanos)) {
+            evictIdle(now);
+        }
+    }
+
+    // Un cubo cuyo instante teórico quedó atrás hace más de idle-timeout está lleno: quitarlo no cambia nada
+    private void evictIdle(long now) {
+        buckets.values().removeIf(bucket -> {
+            long theoretical = bucket.get();
+            return theoretical == NEVER || now - theoretical > idleNanos;
+        });
+    }
+}
@@ -0,0 +1,87 @@
+package uis.edu.co.food.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caché acotada de tokens JWT ya verificados, para no repetir la verificación de firma en cada petición.
+ * La clave es el SHA-256 del token (no se guarda el token en claro) y cada entrada caduca con el "exp" del token.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    public record VerifiedToken(String username, String role, long expiresAtMillis) {
+
+        boolean isExpired(long now) {
+            return expiresAtMillis <= now;
+        }
+    }
+
+    private final Map<String, VerifiedToken> tokens = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final long evictionIntervalMillis;
+    private final AtomicLong nextEviction = new AtomicLong();
+
+    public VerifiedTokenCache(@Value("${food.jwt.cache.max-entries:10000}") int maxEntries,
+                              @Value("${food.jwt.cache.eviction-interval:5s}") Duration evictionInterval) {
+        this.maxEntries = maxEntries;
+        this.evictionIntervalMillis = evictionInterval.toMillis();
+    }
+
+    // Devuelve el token verificado o null si no está (o ya expiró)
+    public VerifiedToken get(String token) {
+        String key = hash(token);
+        VerifiedToken verified = tokens.get(key);
+        if (verified == null) {
+            return null;
+        }
+        if (verified.isExpired(System.currentTimeMillis())) {
+            tokens.remove(key, verified);
+            return null;
+        }
+        return verified;
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        if (tokens.size() >= maxEntries) {
+            evictExpiredIfDue();
+            // Si sigue llena no se cachea: el token se verificará de nuevo en la próxima petición
+            if (tokens.size() >= maxEntries) {
+                return;
+            }
+        }
+        tokens.put(hash(token), verified);
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    // El barrido recorre toda la caché: con ella llena de tokens vigentes, hacerlo en cada fallo costaría más
+    // que verificar la firma. Como mucho uno por intervalo, y solo el hilo que gana el CAS
+    private void evictExpiredIfDue() {
+        long now = System.currentTimeMillis();
+        long due = nextEviction.get();
+        if (now >= due && nextEviction.compareAndSet(due, now + evictionIntervalMillis)) {
+            tokens.values().removeIf(verified -> verified.isExpired(now));
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
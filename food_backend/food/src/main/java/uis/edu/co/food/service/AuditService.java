@@ -0,0 +1,362 @@
+package uis.edu.co.food.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import uis.edu.co.food.dto.AuditPage;
+import uis.edu.co.food.models.AuditEntry;
+import uis.edu.co.food.models.Category;
+import uis.edu.co.food.models.Dish;
+
+/**
+ * Registro de auditoría con escritura diferida: record() solo encola el cambio en un buffer acotado
+ * (no añade latencia a la escritura del plato) y un hilo propio lo inserta en MongoDB por lotes,
+ * cada flush-interval o en cuanto hay batch-size pendientes. Si MongoDB no responde, el lote se
+ * reintenta en el siguiente ciclo y el buffer absorbe lo que llega mientras tanto; cuando se llena
+ * se aplica overflow-policy.
+ */
+@Service
+public class AuditService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditService.class);
+
+    /** Qué hacer con un cambio nuevo cuando el buffer está lleno. */
+    public enum OverflowPolicy {
+        // Descartar el nuevo
+        DROP_NEWEST,
+        // Descartar el más antiguo del buffer para hacerle sitio
+        DROP_OLDEST,
+        // Esperar hasta block-timeout a que el hilo de escritura libere sitio; si no, descartar el nuevo.
+        // Añade esa espera a cada escritura mientras el buffer siga lleno (una importación, a cada fila)
+        BLOCK
+    }
+
+    /** Usuario de los cambios sin petición autenticada detrás (trabajos en segundo plano, arranque). */
+    public static final String SYSTEM_ACTOR = "system";
+
+    private static final String ID = "_id";
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final long cappedSizeBytes;
+    private final int defaultPageLimit;
+    private final int maxPageLimit;
+
+    private final ArrayBlockingQueue<AuditEntry> buffer;
+    private final Object signal = new Object();
+    private final Thread writer;
+    private volatile boolean running = true;
+    // Solo lo usa el hilo de escritura
+    private boolean collectionReady;
+
+    private final Counter recorded;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failedFlushes;
+
+    public AuditService(
+            MongoTemplate mongoTemplate,
+            MeterRegistry registry,
+            @Value("${food.audit.enabled:true}") boolean enabled,
+            @Value("${food.audit.buffer-size:10000}") int bufferSize,
+            @Value("${food.audit.batch-size:500}") int batchSize,
+            @Value("${food.audit.flush-interval:1s}") Duration flushInterval,
+            @Value("${food.audit.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy,
+            @Value("${food.audit.block-timeout:100ms}") Duration blockTimeout,
+            @Value("${food.audit.capped-size:256MB}") DataSize cappedSize,
+            @Value("${food.audit.page.default-limit:50}") int defaultPageLimit,
+            @Value("${food.audit.page.max-limit:200}") int maxPageLimit) {
+
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushInterval.toMillis();
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+        this.cappedSizeBytes = cappedSize.toBytes();
+        this.defaultPageLimit = defaultPageLimit;
+        this.maxPageLimit = maxPageLimit;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+
+        this.recorded = Counter.builder("food.audit.entries")
+                .tag("result", "recorded")
+                .description("Cambios de administración encolados para auditoría")
+                .register(registry);
+        this.dropped = Counter.builder("food.audit.entries")
+                .tag("result", "dropped")
+                .description("Cambios descartados por buffer de auditoría lleno")
+                .register(registry);
+        this.written = Counter.builder("food.audit.entries")
+                .tag("result", "written")
+                .description("Cambios insertados en audit_log")
+                .register(registry);
+        this.failedFlushes = Counter.builder("food.audit.flush.failures")
+                .description("Lotes de auditoría que no se pudieron insertar (se reintentan)")
+                .register(registry);
+        Gauge.builder("food.audit.buffer", buffer, ArrayBlockingQueue::size)
+                .register(registry);
+
+        this.writer = new Thread(this::writeLoop, "audit-writer");
+        this.writer.setDaemon(true);
+        if (enabled) {
+            this.writer.start();
+        }
+    }
+
+    /**
+     * Encola un cambio. before/after son el plato o la categoría antes y después (null en altas y bajas),
+     * o un Map con los campos a guardar.
+     * El usuario se toma del SecurityContext del hilo que llama, por eso no se puede diferir esta parte.
+     */
+    public void record(AuditEntry.Action action, String entity, String entityId, Object before, Object after) {
+        record(currentActor(), action, entity, entityId, before, after);
+    }
+
+    /** Igual que el anterior con el usuario explícito, para trabajos en segundo plano sin SecurityContext en el hilo. */
+    public void record(String actor, AuditEntry.Action action, String entity, String entityId, Object before, Object after) {
+        if (!enabled) {
+            return;
+        }
+        AuditEntry entry = new AuditEntry();
+        entry.setId(new ObjectId().toHexString());
+        entry.setAt(LocalDateTime.now());
+        entry.setActor(actor);
+        entry.setAction(action);
+        entry.setEntity(entity);
+        entry.setEntityId(entityId);
+        entry.setBefore(summary(before));
+        entry.setAfter(summary(after));
+
+        if (enqueue(entry)) {
+            recorded.increment();
+            if (buffer.size() >= batchSize) {
+                synchronized (signal) {
+                    signal.notifyAll();
+                }
+            }
+        } else {
+            dropped.increment();
+        }
+    }
+
+    private boolean enqueue(AuditEntry entry) {
+        switch (overflowPolicy) {
+            case DROP_OLDEST -> {
+                while (!buffer.offer(entry)) {
+                    if (buffer.poll() != null) {
+                        dropped.increment();
+                    }
+                }
+                return true;
+            }
+            case BLOCK -> {
+                try {
+                    return buffer.offer(entry, blockTimeoutNanos, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            default -> {
+                return buffer.offer(entry);
+            }
+        }
+    }
+
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return SYSTEM_ACTOR;
+        }
+        return authentication.getName();
+    }
+
+    // Solo los campos que interesan para auditar (LinkedHashMap: admite valores null)
+    private static Map<String, Object> summary(Object value) {
+        if (value == null) {
+            return null;
+        }
+        Map<String, Object> summary = new LinkedHashMap<>();
+        if (value instanceof Dish dish) {
+            summary.put("name", dish.getName());
+            summary.put("category", dish.getCategory());
+            summary.put("price", dish.getPrice());
+            summary.put("version", dish.getVersion());
+        } else if (value instanceof Category category) {
+            summary.put("name", category.getName());
+        } else if (value instanceof Map<?, ?> fields) {
+            fields.forEach((key, field) -> summary.put(String.valueOf(key), field));
+        }
+        return summary;
+    }
+
+    private void writeLoop() {
+        List<AuditEntry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            synchronized (signal) {
+                if (running && buffer.size() < batchSize) {
+                    try {
+                        signal.wait(flushIntervalMillis);
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                }
+            }
+            flush(batch);
+        }
+        // Parada: último intento con lo que quede
+        flush(batch);
+    }
+
+    // Inserta lotes hasta vaciar el buffer; si falla, el lote se conserva y se reintenta en el siguiente ciclo
+    private void flush(List<AuditEntry> batch) {
+        while (true) {
+            if (batch.isEmpty() && buffer.drainTo(batch, batchSize) == 0) {
+                return;
+            }
+            try {
+                ensureCollection();
+                mongoTemplate.insert(batch, AuditEntry.class);
+                written.increment(batch.size());
+                batch.clear();
+            } catch (RuntimeException e) {
+                failedFlushes.increment();
+                log.warn("No se pudieron guardar {} entradas de auditoría: {}", batch.size(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void ensureCollection() {
+        if (collectionReady) {
+            return;
+        }
+        if (!mongoTemplate.collectionExists(AuditEntry.class)) {
+            try {
+                mongoTemplate.createCollection(AuditEntry.class, CollectionOptions.empty().capped().size(cappedSizeBytes));
+            } catch (RuntimeException e) {
+                // Otra instancia la creó a la vez, o el servidor no admite colecciones capped
+                if (!mongoTemplate.collectionExists(AuditEntry.class)) {
+                    log.warn("No se pudo crear {} como colección capped ({}); se usa una colección normal sin límite de tamaño",
+                            mongoTemplate.getCollectionName(AuditEntry.class), e.getMessage());
+                    mongoTemplate.createCollection(AuditEntry.class);
+                }
+            }
+        }
+        // Consultas de la API: por entidad y por usuario, de la más reciente a la más antigua
+        IndexOperations indexOps = mongoTemplate.indexOps(AuditEntry.class);
+        indexOps.createIndex(new Index().named("entity_entityId_id")
+                .on("entity", Sort.Direction.ASC).on("entityId", Sort.Direction.ASC).on(ID, Sort.Direction.DESC));
+        indexOps.createIndex(new Index().named("actor_id")
+                .on("actor", Sort.Direction.ASC).on(ID, Sort.Direction.DESC));
+        collectionReady = true;
+    }
+
+    /**
+     * Página de la auditoría, de la más reciente a la más antigua. Filtros opcionales; el cursor es el id
+     * de la última entrada de la página anterior. Lo que sigue en el buffer aún no aparece.
+     */
+    public AuditPage find(String entity, String entityId, String actor, AuditEntry.Action action,
+                          LocalDateTime from, LocalDateTime to, String cursor, Integer limit) {
+        int pageLimit = limit == null ? defaultPageLimit : limit;
+        if (pageLimit < 1 || pageLimit > maxPageLimit) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxPageLimit);
+        }
+
+        List<Criteria> filters = new ArrayList<>();
+        if (entity != null && !entity.isBlank()) {
+            filters.add(Criteria.where("entity").is(entity));
+        }
+        if (entityId != null && !entityId.isBlank()) {
+            filters.add(Criteria.where("entityId").is(entityId));
+        }
+        if (actor != null && !actor.isBlank()) {
+            filters.add(Criteria.where("actor").is(actor));
+        }
+        if (action != null) {
+            filters.add(Criteria.where("action").is(action));
+        }
+        // El _id se genera al registrar (precisión de segundos): fechas y cursor se resuelven sobre él
+        if (from != null) {
+            filters.add(Criteria.where(ID).gte(ObjectId.getSmallestWithDate(toDate(from))));
+        }
+        if (to != null) {
+            filters.add(Criteria.where(ID).lt(ObjectId.getSmallestWithDate(toDate(to.plusSeconds(1)))));
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            if (!ObjectId.isValid(cursor)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            filters.add(Criteria.where(ID).lt(new ObjectId(cursor)));
+        }
+
+        Query query = new Query();
+        if (!filters.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(filters));
+        }
+        query.with(Sort.by(Sort.Direction.DESC, ID));
+        query.limit(pageLimit + 1);
+
+        List<AuditEntry> items = mongoTemplate.find(query, AuditEntry.class);
+        String nextCursor = null;
+        if (items.size() > pageLimit) {
+            items = items.subList(0, pageLimit);
+            nextCursor = items.get(pageLimit - 1).getId();
+        }
+        return new AuditPage(items, nextCursor, pageLimit);
+    }
+
+    private static Date toDate(LocalDateTime time) {
+        return Date.from(time.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,26 +1,27 @@
 package uis.edu.co.food.service;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import uis.edu.co.food.models.User;
 import uis.edu.co.food.repositories.UserRepository;
 import uis.edu.co.food.config.JwtUtil;
 
+@Timed(value = "food.service", histogram = true)
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashing;
     private final JwtUtil jwtUtil;
 
 
     public User register(String username, String rawPassword, String role) {
         User user = new User();
         user.setUsername(username);
-        user.setPassword(passwordEncoder.encode(rawPassword));
+        user.setPassword(passwordHashing.encode(rawPassword));
         user.setRole(role);
 
         return userRepository.save(user);
@@ -30,10 +31,16 @@ public class AuthService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        if(!passwordEncoder.matches(rawPassword, user.getPassword())){
+        if(!passwordHashing.matches(rawPassword, user.getPassword())){
             throw new RuntimeException("Invalid credentials");
         }
 
+        // Hash con coste o algoritmo antiguo: se re-hashea ahora que tenemos la contraseña en claro
+        if (passwordHashing.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHashing.encode(rawPassword));
+            userRepository.save(user);
+        }
+
         return jwtUtil.generateToken(user.getUsername(), user.getRole());
     }
     
@@ -0,0 +1,305 @@
+package uis.edu.co.food.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import uis.edu.co.food.cache.DishCatalogCache;
+import uis.edu.co.food.cache.DishFacetAggregates;
+import uis.edu.co.food.events.MenuChangeEvent;
+import uis.edu.co.food.models.AuditEntry;
+import uis.edu.co.food.models.CategoryJob;
+import uis.edu.co.food.repositories.CategoryJobRepository;
+import uis.edu.co.food.repositories.DishRepository;
+
+/**
+ * Mueve los platos de una categoría a otra en segundo plano (renombrar o borrar con reasignación),
+ * en bloques de chunk-size: se leen los ids del bloque con el índice por categoría y se actualizan
+ * con un único updateMany. Un hilo propio ejecuta los trabajos de uno en uno, así la petición HTTP
+ * responde enseguida y el progreso queda en category_jobs tras cada bloque.
+ *
+ * Con varias instancias, cada trabajo se reclama con un findAndModify que lo marca con el dueño y un
+ * lease; el progreso solo se guarda mientras el dueño siga siendo esta instancia y cada bloque renueva
+ * el lease. Un trabajo RUNNING cuyo lease caducó (la instancia murió) lo retoma otra.
+ */
+@Service
+public class CategoryCascadeService {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryCascadeService.class);
+
+    private final CategoryJobRepository jobRepository;
+    private final DishRepository dishRepository;
+    private final MongoTemplate mongoTemplate;
+    private final DishCatalogCache catalogCache;
+    private final DishFacetAggregates facetAggregates;
+    private final ApplicationEventPublisher events;
+    private final AuditService auditService;
+    private final int chunkSize;
+    private final Duration lease;
+    private final boolean resumeOnStartup;
+    private final String owner;
+    private final ScheduledExecutorService executor;
+
+    private final Counter movedDishes;
+
+    public CategoryCascadeService(CategoryJobRepository jobRepository, DishRepository dishRepository,
+                                  MongoTemplate mongoTemplate, DishCatalogCache catalogCache,
+                                  DishFacetAggregates facetAggregates, ApplicationEventPublisher events,
+                                  AuditService auditService, MeterRegistry registry,
+                                  @Value("${food.categories.cascade.chunk-size:5000}") int chunkSize,
+                                  @Value("${food.categories.cascade.lease:2m}") Duration lease,
+                                  @Value("${food.categories.cascade.resume-on-startup:true}") boolean resumeOnStartup,
+                                  @Value("${HOSTNAME:food}") String hostname) {
+        this.jobRepository = jobRepository;
+        this.dishRepository = dishRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.catalogCache = catalogCache;
+        this.facetAggregates = facetAggregates;
+        this.events = events;
+        this.auditService = auditService;
+        this.chunkSize = chunkSize;
+        this.lease = lease;
+        this.resumeOnStartup = resumeOnStartup;
+        // Único por proceso: dos instancias en la misma máquina no comparten dueño
+        this.owner = hostname + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "category-cascade");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.movedDishes = Counter.builder("food.categories.cascade.dishes")
+                .description("Platos cambiados de categoría por renombrados y borrados de categorías")
+                .register(registry);
+    }
+
+    // Registra el trabajo y lo encola; devuelve el trabajo en estado PENDING
+    public CategoryJob start(CategoryJob.Type type, String categoryId, String from, String to) {
+        CategoryJob job = new CategoryJob();
+        job.setType(type);
+        job.setCategoryId(categoryId);
+        job.setFromCategory(from);
+        job.setToCategory(to);
+        job.setStatus(CategoryJob.Status.PENDING);
+        job.setCreatedAt(LocalDateTime.now());
+        CategoryJob saved = jobRepository.save(job);
+        submit(saved.getId());
+        return saved;
+    }
+
+    public CategoryJob getJob(String id) {
+        return jobRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Category job not found with id: " + id));
+    }
+
+    public List<CategoryJob> recentJobs() {
+        return jobRepository.findTop20ByOrderByCreatedAtDesc();
+    }
+
+    // Al arrancar y después cada lease se buscan trabajos sin dueño vivo: mover es idempotente
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!resumeOnStartup) {
+            return;
+        }
+        executor.scheduleWithFixedDelay(this::resumeAbandoned, 0, lease.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void resumeAbandoned() {
+        try {
+            Query query = new Query(claimable(LocalDateTime.now()))
+                    .with(Sort.by(Sort.Direction.ASC, "createdAt"));
+            query.fields().include("_id");
+            List<CategoryJob> pending = mongoTemplate.find(query, CategoryJob.class);
+            if (!pending.isEmpty()) {
+                log.info("Reanudando {} trabajos de categorías sin terminar", pending.size());
+            }
+            pending.forEach(job -> submit(job.getId()));
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron reanudar los trabajos de categorías: {}", e.getMessage());
+        }
+    }
+
+    // PENDING, o RUNNING con el lease caducado (o sin lease: lo liberó una instancia al detenerse)
+    private static Criteria claimable(LocalDateTime now) {
+        return new Criteria().orOperator(
+                Criteria.where("status").is(CategoryJob.Status.PENDING),
+                Criteria.where("status").is(CategoryJob.Status.RUNNING).and("leaseUntil").lt(now),
+                Criteria.where("status").is(CategoryJob.Status.RUNNING).and("leaseUntil").exists(false));
+    }
+
+    private void submit(String jobId) {
+        try {
+            executor.execute(() -> run(jobId));
+        } catch (RejectedExecutionException e) {
+            // Parada en curso: queda PENDING en MongoDB y lo retoma esta u otra instancia
+            log.warn("Trabajo de categorías {} no encolado: la aplicación se está deteniendo", jobId);
+        }
+    }
+
+    // Reclama el trabajo de forma atómica; null si ya terminó o lo tiene otra instancia con el lease vigente
+    private CategoryJob claim(String jobId) {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(new Criteria().andOperator(Criteria.where("_id").is(jobId), claimable(now)));
+        Update update = new Update()
+                .set("status", CategoryJob.Status.RUNNING)
+                .set("owner", owner)
+                .set("leaseUntil", now.plus(lease))
+                .set("startedAt", now);
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), CategoryJob.class);
+    }
+
+    // Guarda progreso o estado final solo si el trabajo sigue siendo nuestro; false si se perdió el lease
+    private boolean saveOwned(CategoryJob job, Update update) {
+        Query query = new Query(Criteria.where("_id").is(job.getId())
+                .and("owner").is(owner)
+                .and("status").is(CategoryJob.Status.RUNNING));
+        return mongoTemplate.updateFirst(query, update, CategoryJob.class).getMatchedCount() > 0;
+    }
+
+    private boolean saveProgress(CategoryJob job) {
+        return saveOwned(job, new Update()
+                .set("total", job.getTotal())
+                .set("processed", job.getProcessed())
+                .set("leaseUntil", LocalDateTime.now().plus(lease)));
+    }
+
+    private void run(String jobId) {
+        CategoryJob job;
+        try {
+            job = claim(jobId);
+        } catch (RuntimeException e) {
+            log.warn("No se pudo reclamar el trabajo de categorías {}: {}", jobId, e.getMessage());
+            return;
+        }
+        if (job == null) {
+            return; // terminado, o en marcha en otra instancia
+        }
+
+        boolean finished = false;
+        try {
+            job.setTotal(job.getProcessed() + dishRepository.countByCategory(job.getFromCategory()));
+            if (!saveProgress(job)) {
+                log.warn("Trabajo de categorías {}: lo reclamó otra instancia", job.getId());
+                return;
+            }
+
+            // Hasta que no quede ningún plato en la categoría de origen, también los creados mientras tanto
+            while (!Thread.currentThread().isInterrupted()) {
+                List<String> ids = dishRepository.findIdsByCategory(job.getFromCategory(), chunkSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                long moved = dishRepository.moveToCategory(ids, job.getFromCategory(), job.getToCategory());
+                movedDishes.increment(moved);
+                job.setProcessed(job.getProcessed() + moved);
+                job.setTotal(Math.max(job.getTotal(), job.getProcessed()));
+                if (!saveProgress(job)) {
+                    log.warn("Trabajo de categorías {}: lease perdido, lo continúa otra instancia", job.getId());
+                    return;
+                }
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                release(job);
+                return;
+            }
+
+            job.setStatus(CategoryJob.Status.COMPLETED);
+            job.setFinishedAt(LocalDateTime.now());
+            finished = saveOwned(job, new Update()
+                    .set("status", job.getStatus())
+                    .set("finishedAt", job.getFinishedAt())
+                    .unset("leaseUntil"));
+            log.info("Trabajo de categorías {} ({} '{}' -> '{}'): {} platos", job.getId(), job.getType(),
+                    job.getFromCategory(), job.getToCategory(), job.getProcessed());
+        } catch (RuntimeException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                // La parada interrumpió una operación de MongoDB: no es un fallo del trabajo
+                release(job);
+                return;
+            }
+            log.warn("Trabajo de categorías {} fallido: {}", job.getId(), e.getMessage());
+            job.setStatus(CategoryJob.Status.FAILED);
+            job.setError(e.getMessage());
+            job.setFinishedAt(LocalDateTime.now());
+            try {
+                finished = saveOwned(job, new Update()
+                        .set("status", job.getStatus())
+                        .set("error", job.getError())
+                        .set("finishedAt", job.getFinishedAt())
+                        .unset("leaseUntil"));
+            } catch (RuntimeException ignored) {
+                // MongoDB no responde: el trabajo sigue RUNNING y se retoma cuando caduque el lease
+            }
+        } finally {
+            if (job.getProcessed() > 0) {
+                // Los platos movidos cambian de categoría y de versión: se recargan en la próxima lectura
+                catalogCache.invalidate();
+                facetAggregates.invalidate();
+                events.publishEvent(MenuChangeEvent.reload("dish"));
+                if (finished) {
+                    audit(job);
+                }
+            }
+        }
+    }
+
+    // Parada: sigue RUNNING pero sin lease, así se retoma sin esperar a que caduque
+    private void release(CategoryJob job) {
+        boolean interrupted = Thread.interrupted(); // con la marca puesta el driver no ejecuta la operación
+        try {
+            saveOwned(job, new Update().unset("leaseUntil"));
+        } catch (RuntimeException e) {
+            log.warn("Trabajo de categorías {}: no se pudo liberar el lease: {}", job.getId(), e.getMessage());
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Una entrada por trabajo terminado (no por plato): categorías de origen y destino y platos movidos
+    private void audit(CategoryJob job) {
+        Map<String, Object> before = new LinkedHashMap<>();
+        before.put("category", job.getFromCategory());
+        Map<String, Object> after = new LinkedHashMap<>();
+        after.put("category", job.getToCategory());
+        after.put("dishes", job.getProcessed());
+        after.put("status", job.getStatus().name());
+        auditService.record(AuditService.SYSTEM_ACTOR, AuditEntry.Action.UPDATE, "category-job", job.getId(), before, after);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        try {
+            // Da tiempo al trabajo en curso a liberar su lease
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -2,43 +2,123 @@ package uis.edu.co.food.service;
 
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import uis.edu.co.food.cache.CategoryRegistry;
+import uis.edu.co.food.events.MenuChangeEvent;
+import uis.edu.co.food.exception.ConflictException;
+import uis.edu.co.food.models.AuditEntry;
 import uis.edu.co.food.models.Category;
+import uis.edu.co.food.models.CategoryJob;
 import uis.edu.co.food.repositories.CategoryRepository;
+import uis.edu.co.food.repositories.DishRepository;
 
+@Timed(value = "food.service", histogram = true)
 @Service
 @RequiredArgsConstructor
 public class CategoryService {
 
     private final CategoryRepository repo;
+    private final CategoryRegistry registry;
+    private final DishRepository dishRepository;
+    private final CategoryCascadeService cascade;
+    private final ApplicationEventPublisher events;
+    private final AuditService auditService;
+
+    // Categoría resultante y, si sus platos cambian de categoría, el trabajo que los mueve
+    public record Change(Category category, CategoryJob job) {
+    }
 
     public List<Category> findAll() {
-        return repo.findAll();
+        return registry.findAll();
+    }
+
+    // Versión del registro en memoria (para ETags)
+    public long version() {
+        return registry.version();
     }
 
     public Category findById(String id) {
-        return repo.findById(id)
-                .orElseThrow(() -> new RuntimeException("Category not found"));
+        Category category = registry.findById(id);
+        if (category == null) {
+            throw new RuntimeException("Category not found");
+        }
+        return category;
     }
 
     public Category create(Category c) {
+        if (c.getName() == null || c.getName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Name is required");
+        }
         // validar que no exista
-        if (repo.findByName(c.getName()).isPresent()) {
+        if (registry.exists(c.getName())) {
             throw new RuntimeException("Category already exists");
         }
-        return repo.save(c);
+        Category saved = repo.save(c);
+        registry.put(saved);
+        events.publishEvent(MenuChangeEvent.created("category", saved.getId(), saved));
+        auditService.record(AuditEntry.Action.CREATE, "category", saved.getId(), null, saved);
+        return saved;
     }
 
-    public Category update(String id, Category c) {
-        Category existing = findById(id);
-        existing.setName(c.getName());
-        return repo.save(existing);
+    // Si cambia el nombre, los platos pasan al nuevo en segundo plano (los platos guardan el nombre, no el id)
+    public Change update(String id, Category c) {
+        if (c.getName() == null || c.getName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Name is required");
+        }
+        Category previous = findById(id);
+        String previousName = previous.getName();
+
+        // findAndModify devuelve el documento ya actualizado; un nombre repetido falla por el índice único (409)
+        Category saved = repo.updateName(id, c.getName());
+        if (saved == null) {
+            throw new RuntimeException("Category not found");
+        }
+        registry.put(saved);
+        events.publishEvent(MenuChangeEvent.updated("category", saved.getId(), saved));
+        auditService.record(AuditEntry.Action.UPDATE, "category", saved.getId(), previous, saved);
+
+        if (previousName.equals(saved.getName())) {
+            return new Change(saved, null);
+        }
+        return new Change(saved, cascade.start(CategoryJob.Type.RENAME, id, previousName, saved.getName()));
     }
 
-    public void delete(String id) {
+    /**
+     * Sin reassignTo, una categoría con platos no se borra (409). Con reassignTo se borra y sus platos
+     * pasan a esa categoría en segundo plano; devuelve el trabajo, o null si no hacía falta ninguno.
+     */
+    public CategoryJob delete(String id, String reassignTo) {
+        // El nombre sale del registro en memoria; si algún plato la usa, 409 sin cargar platos
         Category existing = findById(id);
-        repo.delete(existing);
+        boolean reassign = reassignTo != null && !reassignTo.isBlank();
+        if (reassign) {
+            if (reassignTo.equals(existing.getName()) || !registry.exists(reassignTo)) {
+                throw new IllegalArgumentException("Invalid category to reassign dishes to");
+            }
+        } else if (dishRepository.existsByCategory(existing.getName())) {
+            throw new ConflictException("Category is used by existing dishes");
+        }
+
+        // Primero se borra la categoría: desde ahí no se pueden crear platos en ella y el trabajo los mueve todos
+        if (repo.deleteCategoryById(id) == 0) {
+            throw new RuntimeException("Category not found");
+        }
+        registry.remove(id);
+        events.publishEvent(MenuChangeEvent.deleted("category", id));
+        auditService.record(AuditEntry.Action.DELETE, "category", id, existing, null);
+
+        return reassign ? cascade.start(CategoryJob.Type.REASSIGN, id, existing.getName(), reassignTo) : null;
+    }
+
+    public CategoryJob getJob(String jobId) {
+        return cascade.getJob(jobId);
+    }
+
+    public List<CategoryJob> recentJobs() {
+        return cascade.recentJobs();
     }
 }
@@ -0,0 +1,138 @@
+package uis.edu.co.food.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import uis.edu.co.food.dto.DishRequest;
+
+/**
+ * Lee platos desde CSV línea a línea. La primera línea es la cabecera con los nombres de los campos
+ * (name, category, price, description, imageUrl, ingredientes); los ingredientes van separados por ";".
+ * Soporta campos entre comillas dobles ("" escapa una comilla), pero no saltos de línea dentro de un campo.
+ */
+class DishCsvReader implements Iterator<DishImportService.ImportRow> {
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private String nextLine;
+    private int row;
+
+    DishCsvReader(BufferedReader reader) {
+        this.reader = reader;
+        String header = readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV header is required");
+        }
+        List<String> names = parseLine(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim(), i);
+        }
+        if (!columns.containsKey("name")) {
+            throw new IllegalArgumentException("CSV header must include 'name'");
+        }
+        this.nextLine = nextNonBlank();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextLine != null;
+    }
+
+    @Override
+    public DishImportService.ImportRow next() {
+        if (nextLine == null) {
+            throw new NoSuchElementException();
+        }
+        String line = nextLine;
+        int current = ++row;
+        nextLine = nextNonBlank();
+
+        try {
+            List<String> values = parseLine(line);
+            DishRequest request = new DishRequest();
+            request.setName(value(values, "name"));
+            request.setCategory(value(values, "category"));
+            request.setDescription(value(values, "description"));
+            request.setImageUrl(value(values, "imageUrl"));
+
+            String price = value(values, "price");
+            request.setPrice(price == null || price.isBlank() ? null : Double.valueOf(price.trim()));
+
+            String ingredientes = value(values, "ingredientes");
+            if (ingredientes != null && !ingredientes.isBlank()) {
+                request.setIngredientes(Arrays.stream(ingredientes.split(";"))
+                        .map(String::trim)
+                        .filter(s -> !s.isEmpty())
+                        .toList());
+            }
+            return DishImportService.ImportRow.of(current, request);
+        } catch (NumberFormatException e) {
+            return DishImportService.ImportRow.error(current, "Invalid price");
+        } catch (IllegalArgumentException e) {
+            return DishImportService.ImportRow.error(current, e.getMessage());
+        }
+    }
+
+    private String value(List<String> values, String column) {
+        Integer index = columns.get(column);
+        return index == null || index >= values.size() ? null : values.get(index);
+    }
+
+    private String nextNonBlank() {
+        String line;
+        while ((line = readLine()) != null) {
+            if (!line.isBlank()) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    private String readLine() {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static List<String> parseLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
@@ -0,0 +1,60 @@
+package uis.edu.co.food.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.micrometer.core.annotation.Timed;
+import uis.edu.co.food.models.Dish;
+import uis.edu.co.food.repositories.DishRepository;
+
+@Timed(value = "food.service", histogram = true)
+@Service
+public class DishExportService {
+
+    private final DishRepository dishRepository;
+    private final ObjectWriter writer;
+
+    // Documentos que MongoDB devuelve por cada lote del cursor
+    @Value("${food.dishes.export.batch-size:500}")
+    private int batchSize;
+
+    // Cada cuántas filas se vacía el buffer hacia el cliente
+    @Value("${food.dishes.export.flush-every:1000}")
+    private int flushEvery;
+
+    public DishExportService(DishRepository dishRepository, ObjectMapper objectMapper) {
+        this.dishRepository = dishRepository;
+        this.writer = objectMapper.writerFor(Dish.class);
+    }
+
+    // Escribe los platos como NDJSON (un documento por línea) sin cargarlos todos en memoria
+    public long exportNdjson(String category, LocalDateTime updatedAfter, OutputStream target) throws IOException {
+        OutputStream out = new BufferedOutputStream(target, 64 * 1024);
+        long rows = 0;
+
+        try (Stream<Dish> dishes = dishRepository.streamForExport(category, updatedAfter, batchSize)) {
+            Iterator<Dish> it = dishes.iterator();
+            while (it.hasNext()) {
+                out.write(writer.writeValueAsBytes(it.next()));
+                out.write('\n');
+                rows++;
+                if (rows % flushEvery == 0) {
+                    out.flush();
+                }
+            }
+        }
+
+        out.flush();
+        return rows;
+    }
+}
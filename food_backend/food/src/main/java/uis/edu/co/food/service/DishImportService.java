@@ -0,0 +1,221 @@
+package uis.edu.co.food.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import uis.edu.co.food.cache.CategoryRegistry;
+import uis.edu.co.food.cache.DishCatalogCache;
+import uis.edu.co.food.cache.DishFacetAggregates;
+import uis.edu.co.food.dto.BulkImportResult;
+import uis.edu.co.food.dto.DishRequest;
+import uis.edu.co.food.events.MenuChangeEvent;
+import uis.edu.co.food.models.AuditEntry;
+import uis.edu.co.food.models.Dish;
+
+/**
+ * Importación masiva de platos: lee la entrada en streaming, valida fila a fila (las categorías contra
+ * el CategoryRegistry en memoria) y escribe cada lote con un bulkWrite no ordenado.
+ */
+@Timed(value = "food.service", histogram = true)
+@Service
+@RequiredArgsConstructor
+public class DishImportService {
+
+    private final MongoTemplate mongoTemplate;
+    private final CategoryRegistry categoryRegistry;
+    private final DishCatalogCache catalogCache;
+    private final DishFacetAggregates facetAggregates;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher events;
+    private final AuditService auditService;
+
+    @Value("${food.dishes.bulk.batch-size:500}")
+    private int batchSize;
+
+    // Fila de entrada: la petición leída o el error de lectura
+    static final class ImportRow {
+        final int row;
+        final DishRequest request;
+        final String error;
+
+        private ImportRow(int row, DishRequest request, String error) {
+            this.row = row;
+            this.request = request;
+            this.error = error;
+        }
+
+        static ImportRow of(int row, DishRequest request) {
+            return new ImportRow(row, request, null);
+        }
+
+        static ImportRow error(int row, String error) {
+            return new ImportRow(row, null, error);
+        }
+    }
+
+    // Array JSON o NDJSON (un objeto por línea)
+    public BulkImportResult importJson(InputStream in) throws IOException {
+        MappingIterator<DishRequest> values = objectMapper.readerFor(DishRequest.class).readValues(in);
+        return importRows(new JsonRows(values));
+    }
+
+    public BulkImportResult importCsv(InputStream in) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        return importRows(new DishCsvReader(reader));
+    }
+
+    BulkImportResult importRows(Iterator<ImportRow> rows) {
+        BulkImportResult result = new BulkImportResult();
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+
+        while (rows.hasNext()) {
+            batch.add(rows.next());
+            if (batch.size() >= batchSize) {
+                writeBatch(batch, result);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch, result);
+        }
+
+        if (result.getInserted() > 0) {
+            catalogCache.invalidate();
+            facetAggregates.invalidate();
+            // Un evento por lote completo, no por plato: los clientes recargan el listado
+            events.publishEvent(MenuChangeEvent.reload("dish"));
+        }
+        return result;
+    }
+
+    private void writeBatch(List<ImportRow> batch, BulkImportResult result) {
+        String[] errors = new String[batch.size()];
+        String[] ids = new String[batch.size()];
+        List<Dish> dishes = new ArrayList<>(batch.size());
+        List<Integer> positions = new ArrayList<>(batch.size());
+
+        for (int i = 0; i < batch.size(); i++) {
+            ImportRow row = batch.get(i);
+            if (row.error != null || row.request == null) {
+                errors[i] = row.error != null ? row.error : "Empty row";
+                continue;
+            }
+            try {
+                DishService.validateDishFields(row.request);
+                if (!categoryRegistry.exists(row.request.getCategory())) {
+                    throw new IllegalArgumentException("Invalid category");
+                }
+            } catch (IllegalArgumentException e) {
+                errors[i] = e.getMessage();
+                continue;
+            }
+
+            Dish dish = DishService.newDish(row.request);
+            // Id generado aquí para poder informarlo fila a fila
+            dish.setId(new ObjectId().toHexString());
+            dish.setVersion(0L); // bulkOps no pasa por insert(), que es quien inicializa @Version
+            ids[i] = dish.getId();
+            dishes.add(dish);
+            positions.add(i);
+        }
+
+        if (!dishes.isEmpty()) {
+            insertUnordered(dishes, positions, errors);
+            // Una entrada por plato insertado; la importación corre en la petición, el usuario es el que importa
+            for (int i = 0; i < dishes.size(); i++) {
+                if (errors[positions.get(i)] == null) {
+                    Dish dish = dishes.get(i);
+                    auditService.record(AuditEntry.Action.CREATE, "dish", dish.getId(), null, dish);
+                }
+            }
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            if (errors[i] != null) {
+                result.failed(batch.get(i).row, errors[i]);
+            } else {
+                result.inserted(batch.get(i).row, ids[i]);
+            }
+        }
+    }
+
+    // bulkWrite no ordenado: un documento que falla no detiene al resto del lote
+    private void insertUnordered(List<Dish> dishes, List<Integer> positions, String[] errors) {
+        try {
+            mongoTemplate.bulkOps(BulkMode.UNORDERED, Dish.class).insert(dishes).execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                errors[positions.get(error.getIndex())] = error.getMessage();
+            }
+        } catch (DataAccessException e) {
+            for (int position : positions) {
+                errors[position] = e.getMessage();
+            }
+        }
+    }
+
+    // Adapta el MappingIterator de Jackson: un error de sintaxis termina la lectura
+    private static final class JsonRows implements Iterator<ImportRow> {
+
+        private final MappingIterator<DishRequest> values;
+        private int row;
+        private boolean broken;
+
+        JsonRows(MappingIterator<DishRequest> values) {
+            this.values = values;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (broken) {
+                return false;
+            }
+            try {
+                return values.hasNextValue();
+            } catch (IOException e) {
+                // Se informa en next() como fila fallida
+                return true;
+            }
+        }
+
+        @Override
+        public ImportRow next() {
+            if (broken) {
+                throw new NoSuchElementException();
+            }
+            row++;
+            try {
+                return ImportRow.of(row, values.nextValue());
+            } catch (JsonProcessingException e) {
+                broken = true;
+                return ImportRow.error(row, "Malformed JSON: " + e.getOriginalMessage());
+            } catch (IOException e) {
+                broken = true;
+                return ImportRow.error(row, "Malformed JSON: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -1,53 +1,272 @@
 package uis.edu.co.food.service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import uis.edu.co.food.cache.CategoryRegistry;
+import uis.edu.co.food.cache.DishCatalogCache;
+import uis.edu.co.food.cache.DishCatalogSnapshot;
+import uis.edu.co.food.cache.DishFacetAggregates;
+import uis.edu.co.food.dto.DishFacets;
+import uis.edu.co.food.dto.DishPage;
 import uis.edu.co.food.dto.DishRequest;
+import uis.edu.co.food.events.MenuChangeEvent;
+import uis.edu.co.food.exception.ConflictException;
+import uis.edu.co.food.models.AuditEntry;
 import uis.edu.co.food.models.Dish;
-import uis.edu.co.food.repositories.CategoryRepository;
+import uis.edu.co.food.repositories.DishPageQuery;
 import uis.edu.co.food.repositories.DishRepository;
+import uis.edu.co.food.search.DishFilter;
+import uis.edu.co.food.search.DishIngredientIndex;
 
+@Timed(value = "food.service", histogram = true)
 @Service
 @RequiredArgsConstructor
 public class DishService {
 
     private final DishRepository dishRepository;
+    private final DishCatalogCache catalogCache;
+    private final DishFacetAggregates facetAggregates;
+    private final ApplicationEventPublisher events;
+    private final AuditService auditService;
+
+    // Campos que se pueden pedir en la proyección (nombre en la API -> campo en MongoDB)
+    private static final Set<String> PROJECTABLE_FIELDS = Set.of(
+            "id", "name", "category", "price", "description", "imageUrl", "ingredientes", "createdAt", "updatedAt");
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "name", "price", "createdAt", "updatedAt");
+
+    @Value("${food.dishes.page.default-limit:20}")
+    private int defaultPageLimit;
+
+    @Value("${food.dishes.page.max-limit:100}")
+    private int maxPageLimit;
 
     // Listar todos o filtrar por categoría y/o búsqueda
     public List<Dish> getAllDishes(String category, String search) {
-        // Si hay categoría Y búsqueda
-        if (category != null && !category.isEmpty() && search != null && !search.isEmpty()) {
-            return dishRepository.findByCategoryAndSearch(category, search);
+        return getAllDishes(catalogCache.snapshot(), category, search);
+    }
+
+    // Facetas de todo el menú (agregados en memoria) o solo de los platos que coinciden con la búsqueda
+    public DishFacets getFacets(DishCatalogSnapshot snapshot, String search) {
+        if (search == null || search.isBlank()) {
+            return facetAggregates.facets();
         }
-        
+        return facetAggregates.facetsOf(getAllDishes(snapshot, null, search));
+    }
+
+    // Foto vigente del catálogo (versión y fecha de carga sirven para los GET condicionales)
+    public DishCatalogSnapshot getCatalogSnapshot() {
+        return catalogCache.snapshot();
+    }
+
+    // Contador de escrituras del catálogo; no carga la foto
+    public long getCatalogGeneration() {
+        return catalogCache.generation();
+    }
+
+    // Igual que getAllDishes, sobre una foto concreta (la misma de la que se sacó el ETag)
+    public List<Dish> getAllDishes(DishCatalogSnapshot snapshot, String category, String search) {
+        return getAllDishes(snapshot, category, search, DishFilter.NONE);
+    }
+
+    // Además de categoría y búsqueda, ingredientes incluidos/excluidos y rango de precio (bitmaps en memoria)
+    public List<Dish> getAllDishes(DishCatalogSnapshot snapshot, String category, String search, DishFilter filter) {
+        if (!filter.isEmpty()) {
+            DishIngredientIndex index = snapshot.getIngredientIndex();
+            RoaringBitmap matches = index.matching(category, filter);
+            if (search != null && !search.isBlank()) {
+                // Se conserva el orden por relevancia de la búsqueda
+                return snapshot.getSearchIndex().search(search, category).stream()
+                        .filter(dish -> index.contains(matches, dish))
+                        .toList();
+            }
+            return index.select(matches);
+        }
+
+        // Búsqueda (con o sin categoría) sobre el índice invertido, ordenada por relevancia
+        if (search != null && !search.isBlank()) {
+            return snapshot.getSearchIndex().search(search, category);
+        }
+
         // Solo categoría
         if (category != null && !category.isEmpty()) {
-            return dishRepository.findByCategory(category);
-        }
-        
-        // Solo búsqueda
-        if (search != null && !search.isEmpty()) {
-            return dishRepository.searchByNameOrDescription(search);
+            return snapshot.getByCategory(category);
         }
         
         // Sin filtros, devolver todos
-        return dishRepository.findAll();
+        return snapshot.getDishes();
+    }
+
+    // Página de platos por cursor; el orden, el límite y la proyección se resuelven en MongoDB
+    public DishPage getDishPage(String category, DishFilter filter, String cursor, Integer limit, String sort, String fields) {
+        String sortKey = (sort == null || sort.isBlank()) ? "id" : sort.trim();
+        boolean descending = sortKey.startsWith("-");
+        String sortName = descending ? sortKey.substring(1) : sortKey;
+        if (!SORTABLE_FIELDS.contains(sortName)) {
+            throw new IllegalArgumentException("Invalid sort field: " + sortName);
+        }
+
+        int pageLimit = limit == null ? defaultPageLimit : limit;
+        if (pageLimit < 1 || pageLimit > maxPageLimit) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxPageLimit);
+        }
+
+        DishPageQuery query = new DishPageQuery();
+        query.setCategory(category);
+        query.setIncludeIngredients(List.copyOf(filter.includeIngredients()));
+        query.setExcludeIngredients(List.copyOf(filter.excludeIngredients()));
+        query.setMinPrice(filter.minPrice());
+        query.setMaxPrice(filter.maxPrice());
+        query.setSortField(toMongoField(sortName));
+        query.setDescending(descending);
+        Set<String> projection = parseFields(fields);
+        query.setFields(projection);
+        // Se pide un elemento de más para saber si hay otra página
+        query.setLimit(pageLimit + 1);
+        if (cursor != null && !cursor.isBlank()) {
+            decodeCursor(cursor, sortKey, sortName, query);
+        }
+
+        List<Dish> items = dishRepository.findPage(query);
+        String nextCursor = null;
+        if (items.size() > pageLimit) {
+            items = items.subList(0, pageLimit);
+            nextCursor = encodeCursor(sortKey, sortName, items.get(pageLimit - 1));
+        }
+        if (projection.isEmpty()) {
+            return new DishPage(items, nextCursor, pageLimit);
+        }
+        return new DishPage(items.stream().map(dish -> project(dish, projection)).toList(), nextCursor, pageLimit);
+    }
+
+    // Solo los campos pedidos y con valor: el resto vienen en null porque MongoDB no los devolvió
+    static Map<String, Object> project(Dish dish, Set<String> projection) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        for (String field : projection) {
+            Object value = switch (field) {
+                case "_id" -> dish.getId();
+                case "name" -> dish.getName();
+                case "category" -> dish.getCategory();
+                case "price" -> dish.getPrice();
+                case "description" -> dish.getDescription();
+                case "imageUrl" -> dish.getImageUrl();
+                case "ingredientes" -> dish.getIngredientes();
+                case "createdAt" -> dish.getCreatedAt();
+                case "updatedAt" -> dish.getUpdatedAt();
+                default -> null;
+            };
+            if (value != null) {
+                item.put("_id".equals(field) ? "id" : field, value);
+            }
+        }
+        return item;
+    }
+
+    private static String toMongoField(String field) {
+        return "id".equals(field) ? "_id" : field;
+    }
+
+    static Set<String> parseFields(String fields) {
+        Set<String> result = new LinkedHashSet<>();
+        if (fields == null || fields.isBlank()) {
+            return result;
+        }
+        for (String field : Arrays.stream(fields.split(",")).map(String::trim).filter(f -> !f.isEmpty()).toList()) {
+            if (!PROJECTABLE_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Invalid field: " + field);
+            }
+            result.add(toMongoField(field));
+        }
+        return result;
+    }
+
+    // Cursor = base64url("orden|valor|id"); el valor va precedido de "=" o es "~" si es null
+    static String encodeCursor(String sortKey, String sortName, Dish last) {
+        Object value = switch (sortName) {
+            case "name" -> last.getName();
+            case "price" -> last.getPrice();
+            case "createdAt" -> last.getCreatedAt();
+            case "updatedAt" -> last.getUpdatedAt();
+            default -> "";
+        };
+        String raw = sortKey + "|" + (value == null ? "~" : "=" + value) + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static void decodeCursor(String cursor, String sortKey, String sortName, DishPageQuery query) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        int first = raw.indexOf('|');
+        int last = raw.lastIndexOf('|');
+        if (first < 0 || first == last || !raw.substring(0, first).equals(sortKey)) {
+            throw new IllegalArgumentException("Invalid cursor for sort: " + sortKey);
+        }
+
+        String value = raw.substring(first + 1, last);
+        query.setAfterId(raw.substring(last + 1));
+        if (value.equals("~")) {
+            return;
+        }
+        if (!value.startsWith("=")) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        value = value.substring(1);
+        try {
+            query.setAfterValue(switch (sortName) {
+                case "price" -> Double.valueOf(value);
+                case "createdAt", "updatedAt" -> LocalDateTime.parse(value);
+                default -> value;
+            });
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
     }
 
-    // Obtener un plato por ID
+    // Obtener un plato por ID (desde la caché; no modificar el resultado)
     public Dish getDishById(String id) {
-        return dishRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Dish not found with id: " + id));
+        Dish dish = catalogCache.snapshot().getById(id);
+        if (dish == null) {
+            throw new RuntimeException("Dish not found with id: " + id);
+        }
+        return dish;
     }
 
     // Crear plato
     public Dish createDish(DishRequest request) {
         validateDishRequest(request);
         
+        Dish saved = dishRepository.save(newDish(request));
+        catalogCache.put(saved);
+        facetAggregates.put(saved);
+        events.publishEvent(MenuChangeEvent.created("dish", saved.getId(), saved));
+        auditService.record(AuditEntry.Action.CREATE, "dish", saved.getId(), null, saved);
+        return saved;
+    }
+
+    // Construye un plato nuevo (con fechas) a partir de la petición
+    public static Dish newDish(DishRequest request) {
         Dish dish = new Dish();
         dish.setName(request.getName());
         dish.setCategory(request.getCategory());
@@ -57,39 +276,101 @@ public class DishService {
         dish.setIngredientes(request.getIngredientes());
         
         dish.prePersist(); // Setear fechas
-        
-        return dishRepository.save(dish);
+        return dish;
     }
 
-    // Actualizar plato
-    public Dish updateDish(String id, DishRequest request) {
+    // Actualizar plato (reemplaza todos los campos editables). Con expectedVersion solo si no cambió desde entonces
+    public Dish updateDish(String id, DishRequest request, Long expectedVersion) {
         validateDishRequest(request);
-        
-        Dish dish = getDishById(id); // Lanza excepción si no existe
-        
-        dish.setName(request.getName());
-        dish.setCategory(request.getCategory());
-        dish.setPrice(request.getPrice());
-        dish.setDescription(request.getDescription());
-        dish.setImageUrl(request.getImageUrl());
-        dish.setIngredientes(request.getIngredientes());
-        
-        dish.prePersist(); // Actualizar updatedAt
-        
-        return dishRepository.save(dish);
+
+        // HashMap admite valores null: como antes, un PUT sin ingredientes los deja en null
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("name", request.getName());
+        changes.put("category", request.getCategory());
+        changes.put("price", request.getPrice());
+        changes.put("description", request.getDescription());
+        changes.put("imageUrl", request.getImageUrl());
+        changes.put("ingredientes", request.getIngredientes());
+
+        return applyChanges(id, changes, expectedVersion);
     }
 
-    // Eliminar plato
+    // Actualización parcial: solo se modifican los campos presentes (no null) en la petición
+    public Dish patchDish(String id, DishRequest changes, Long expectedVersion) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        if (changes.getName() != null) {
+            if (changes.getName().trim().isEmpty()) throw new IllegalArgumentException("Name is required");
+            fields.put("name", changes.getName());
+        }
+        if (changes.getCategory() != null) {
+            if (!categoryRegistry.exists(changes.getCategory())) throw new IllegalArgumentException("Invalid category");
+            fields.put("category", changes.getCategory());
+        }
+        if (changes.getPrice() != null) {
+            if (changes.getPrice() <= 0) throw new IllegalArgumentException("Price must be greater than 0");
+            fields.put("price", changes.getPrice());
+        }
+        if (changes.getDescription() != null) {
+            if (changes.getDescription().trim().isEmpty()) throw new IllegalArgumentException("Description is required");
+            fields.put("description", changes.getDescription());
+        }
+        if (changes.getImageUrl() != null) {
+            if (!changes.getImageUrl().startsWith("http")) throw new IllegalArgumentException("Image URL must be a valid URL");
+            fields.put("imageUrl", changes.getImageUrl());
+        }
+        if (changes.getIngredientes() != null) {
+            fields.put("ingredientes", changes.getIngredientes());
+        }
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("No fields to update");
+        }
+
+        return applyChanges(id, fields, expectedVersion);
+    }
+
+    // Un único findAndModify, sin leer antes: si no hay coincidencia se distingue entre inexistente y versión distinta
+    private Dish applyChanges(String id, Map<String, Object> changes, Long expectedVersion) {
+        // Valor anterior para la auditoría, de la caché (sin leer MongoDB); null si aún no se cargó
+        Dish before = catalogCache.peek(id);
+        Dish saved = dishRepository.updateFields(id, expectedVersion, changes);
+        if (saved == null) {
+            if (expectedVersion != null && dishRepository.existsById(id)) {
+                throw new ConflictException("Dish " + id + " was modified by another request (expected version "
+                        + expectedVersion + ")");
+            }
+            throw new RuntimeException("Dish not found with id: " + id);
+        }
+        catalogCache.put(saved);
+        facetAggregates.put(saved);
+        events.publishEvent(MenuChangeEvent.updated("dish", saved.getId(), saved));
+        auditService.record(AuditEntry.Action.UPDATE, "dish", saved.getId(), before, saved);
+        return saved;
+    }
+
+    // Eliminar plato (una sola operación; el número de borrados indica si existía)
     public void deleteDish(String id) {
-        Dish dish = getDishById(id); // Valida que exista
-        dishRepository.delete(dish);
+        Dish before = catalogCache.peek(id);
+        if (dishRepository.deleteDishById(id) == 0) {
+            throw new RuntimeException("Dish not found with id: " + id);
+        }
+        catalogCache.remove(id);
+        facetAggregates.remove(id);
+        events.publishEvent(MenuChangeEvent.deleted("dish", id));
+        auditService.record(AuditEntry.Action.DELETE, "dish", id, before, null);
     }
 
     @Autowired
-    private CategoryRepository categoryRepository;
+    private CategoryRegistry categoryRegistry;
 
     // Validaciones básicas
     private void validateDishRequest(DishRequest request) {
+        validateDishFields(request);
+        boolean exists = categoryRegistry.exists(request.getCategory());
+        if (!exists) throw new IllegalArgumentException("Invalid category");
+    }
+
+    // Validaciones de campos que no requieren consultar MongoDB
+    public static void validateDishFields(DishRequest request) {
         if (request.getName() == null || request.getName().trim().isEmpty()) {
             throw new IllegalArgumentException("Name is required");
         }
@@ -109,7 +390,5 @@ public class DishService {
         if (!request.getImageUrl().startsWith("http")) {
             throw new IllegalArgumentException("Image URL must be a valid URL");
         }
-        boolean exists = categoryRepository.findByName(request.getCategory()).isPresent();
-        if (!exists) throw new IllegalArgumentException("Invalid category");
     }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package uis.edu.co.food.reactive;
+
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Ejecuta los servicios del modo servlet fuera del event loop, así las escrituras siguen el mismo camino
+ * en los dos modos. El usuario de Reactor se copia al SecurityContextHolder del hilo mientras dura la llamada.
+ */
+final class BlockingCalls {
+
+    private BlockingCalls() {
+    }
+
+    // Si la llamada devuelve null el Mono queda vacío
+    static <T> Mono<T> call(Callable<T> call) {
+        return ReactiveSecurityContextHolder.getContext()
+                .flatMap(context -> Mono.justOrEmpty(context.getAuthentication()))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(authentication -> Mono.fromCallable(() -> {
+                    authentication.ifPresent(a -> SecurityContextHolder.getContext().setAuthentication(a));
+                    try {
+                        return call.call();
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                }).subscribeOn(Schedulers.boundedElastic()))
+                // La respuesta no se escribe desde el hilo bloqueante: al cancelarse su tarea se interrumpe
+                .publishOn(Schedulers.parallel());
+    }
+
+    static Mono<Void> run(Runnable runnable) {
+        return call(() -> {
+            runnable.run();
+            return null;
+        }).then();
+    }
+}
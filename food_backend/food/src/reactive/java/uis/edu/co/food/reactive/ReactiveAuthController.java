@@ -0,0 +1,39 @@
+package uis.edu.co.food.reactive;
+
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import uis.edu.co.food.dto.LoginRequest;
+import uis.edu.co.food.dto.RegisterRequest;
+import uis.edu.co.food.models.User;
+import uis.edu.co.food.service.AuthService;
+
+// AuthService es bloqueante (repositorio síncrono + BCrypt): se ejecuta fuera del event loop
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+public class ReactiveAuthController {
+
+    private final AuthService authService;
+
+    @PostMapping("/register")
+    public Mono<User> register(@RequestBody RegisterRequest request) {
+        return Mono.fromCallable(() -> authService.register(request.getUsername(), request.getPassword(), "ROLE_ADMIN"))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @PostMapping("/login")
+    public Mono<Map<String, String>> login(@RequestBody LoginRequest req) {
+        return Mono.fromCallable(() -> Map.of("token", authService.login(req.getUsername(), req.getPassword())))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
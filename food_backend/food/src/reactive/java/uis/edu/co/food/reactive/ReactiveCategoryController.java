@@ -0,0 +1,85 @@
+package uis.edu.co.food.reactive;
+
+import java.net.URI;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uis.edu.co.food.models.Category;
+import uis.edu.co.food.models.CategoryJob;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RestController
+@RequestMapping("/api/categories")
+@RequiredArgsConstructor
+public class ReactiveCategoryController {
+
+    private final ReactiveCategoryService service;
+
+    @GetMapping(produces = { "application/json", "application/x-ndjson" })
+    public Flux<Category> getAll() {
+        return service.findAll();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<Category> getById(@PathVariable String id) {
+        return service.findById(id);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Category>> create(@RequestBody Category c) {
+        return service.create(c)
+                .map(created -> ResponseEntity.status(201).body(created));
+    }
+
+    // Con cambio de nombre responde 202: los platos se actualizan en segundo plano (Location = estado del trabajo)
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Category>> update(@PathVariable String id, @RequestBody Category c) {
+        return service.update(id, c)
+                .map(change -> change.job() == null
+                        ? ResponseEntity.ok(change.category())
+                        : ResponseEntity.status(HttpStatus.ACCEPTED)
+                                .location(jobLocation(change.job()))
+                                .body(change.category()));
+    }
+
+    // DELETE /api/categories/{id}?reassignTo=Otra: borra la categoría y mueve sus platos a "Otra" (202)
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<CategoryJob>> delete(@PathVariable String id,
+                                                    @RequestParam(required = false) String reassignTo) {
+        return service.delete(id, reassignTo)
+                .map(job -> ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .location(jobLocation(job))
+                        .body(job))
+                .defaultIfEmpty(ResponseEntity.noContent().build());
+    }
+
+    // Estado y progreso de los trabajos que mueven platos (solo ROLE_ADMIN)
+    @GetMapping("/jobs")
+    public Mono<List<CategoryJob>> recentJobs() {
+        return service.recentJobs();
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public Mono<CategoryJob> getJob(@PathVariable String jobId) {
+        return service.getJob(jobId);
+    }
+
+    private static URI jobLocation(CategoryJob job) {
+        return URI.create("/api/categories/jobs/" + job.getId());
+    }
+}
@@ -0,0 +1,8 @@
+package uis.edu.co.food.reactive;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import uis.edu.co.food.models.Category;
+
+public interface ReactiveCategoryRepository extends ReactiveMongoRepository<Category, String> {
+}
@@ -0,0 +1,53 @@
+package uis.edu.co.food.reactive;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uis.edu.co.food.models.Category;
+import uis.edu.co.food.models.CategoryJob;
+import uis.edu.co.food.service.CategoryService;
+
+// Las escrituras delegan en CategoryService, igual que en modo servlet
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveCategoryService {
+
+    private final ReactiveCategoryRepository repo;
+    private final CategoryService categoryService;
+
+    public Flux<Category> findAll() {
+        return repo.findAll();
+    }
+
+    public Mono<Category> findById(String id) {
+        return repo.findById(id)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Category not found")));
+    }
+
+    public Mono<Category> create(Category c) {
+        return BlockingCalls.call(() -> categoryService.create(c));
+    }
+
+    public Mono<CategoryService.Change> update(String id, Category c) {
+        return BlockingCalls.call(() -> categoryService.update(id, c));
+    }
+
+    // Vacío si se borró sin platos que mover
+    public Mono<CategoryJob> delete(String id, String reassignTo) {
+        return BlockingCalls.call(() -> categoryService.delete(id, reassignTo));
+    }
+
+    public Mono<CategoryJob> getJob(String jobId) {
+        return BlockingCalls.call(() -> categoryService.getJob(jobId));
+    }
+
+    public Mono<List<CategoryJob>> recentJobs() {
+        return BlockingCalls.call(categoryService::recentJobs);
+    }
+}
@@ -0,0 +1,70 @@
+package uis.edu.co.food.reactive;
+
+import java.util.Optional;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uis.edu.co.food.config.HttpCachePolicy;
+import uis.edu.co.food.dto.DishRequest;
+import uis.edu.co.food.models.Dish;
+
+/**
+ * Versión WebFlux de /api/dishes (perfil "reactive"). Mismo contrato que DishController;
+ * con Accept: application/x-ndjson el listado se emite plato a plato según llega de MongoDB.
+ */
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RestController
+@RequestMapping("/api/dishes")
+@RequiredArgsConstructor
+public class ReactiveDishController {
+
+    private final ReactiveDishService dishService;
+
+    @GetMapping(produces = { "application/json", "application/x-ndjson" })
+    public Flux<Dish> getAllDishes(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String search) {
+        return dishService.getAllDishes(category, search);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<Dish> getDishById(@PathVariable String id) {
+        return dishService.getDishById(id);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Dish>> createDish(@RequestBody DishRequest request) {
+        return dishService.createDish(request)
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created));
+    }
+
+    // If-Match opcional como en DishController (W/"id-vN", N = campo version del plato): 409 si no coincide
+    @PutMapping("/{id}")
+    public Mono<Dish> updateDish(@PathVariable String id, @RequestBody DishRequest request,
+                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return Mono.fromCallable(() -> Optional.ofNullable(HttpCachePolicy.expectedVersion(ifMatch, id)))
+                .flatMap(expected -> dishService.updateDish(id, request, expected.orElse(null)));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteDish(@PathVariable String id) {
+        return dishService.deleteDish(id)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().<Void>build()));
+    }
+}
@@ -0,0 +1,12 @@
+package uis.edu.co.food.reactive;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import reactor.core.publisher.Flux;
+import uis.edu.co.food.models.Dish;
+
+public interface ReactiveDishRepository extends ReactiveMongoRepository<Dish, String> {
+
+    // Buscar por categoría exacta
+    Flux<Dish> findByCategory(String category);
+}
@@ -0,0 +1,77 @@
+package uis.edu.co.food.reactive;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uis.edu.co.food.cache.DishCatalogSnapshot;
+import uis.edu.co.food.dto.DishRequest;
+import uis.edu.co.food.models.Dish;
+import uis.edu.co.food.service.DishService;
+
+/**
+ * Misma lógica que DishService sobre el driver reactivo. Los listados se emiten en streaming
+ * desde MongoDB; la búsqueda usa el índice invertido de una foto del catálogo cargada de forma reactiva.
+ * Las escrituras se ejecutan con DishService fuera del event loop.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveDishService {
+
+    private final ReactiveDishRepository dishRepository;
+    private final DishService dishService;
+
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicReference<Mono<DishCatalogSnapshot>> snapshot = new AtomicReference<>();
+
+    public ReactiveDishService(ReactiveDishRepository dishRepository, DishService dishService) {
+        this.dishRepository = dishRepository;
+        this.dishService = dishService;
+        invalidateSnapshot();
+    }
+
+    // Listar todos o filtrar por categoría y/o búsqueda
+    public Flux<Dish> getAllDishes(String category, String search) {
+        if (search != null && !search.isBlank()) {
+            return snapshot.get().flatMapIterable(s -> s.getSearchIndex().search(search, category));
+        }
+        if (category != null && !category.isEmpty()) {
+            return dishRepository.findByCategory(category);
+        }
+        return dishRepository.findAll();
+    }
+
+    public Mono<Dish> getDishById(String id) {
+        return dishRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Dish not found with id: " + id)));
+    }
+
+    // Las escrituras delegan en DishService, igual que en modo servlet
+    public Mono<Dish> createDish(DishRequest request) {
+        return BlockingCalls.call(() -> dishService.createDish(request))
+                .doOnNext(saved -> invalidateSnapshot());
+    }
+
+    public Mono<Dish> updateDish(String id, DishRequest request, Long expectedVersion) {
+        return BlockingCalls.call(() -> dishService.updateDish(id, request, expectedVersion))
+                .doOnNext(saved -> invalidateSnapshot());
+    }
+
+    public Mono<Void> deleteDish(String id) {
+        return BlockingCalls.run(() -> dishService.deleteDish(id))
+                .doOnSuccess(done -> invalidateSnapshot());
+    }
+
+    // La foto se carga en la primera búsqueda y se comparte; si la carga falla no se guarda el error
+    private void invalidateSnapshot() {
+        snapshot.set(dishRepository.findAll()
+                .collectList()
+                .map(dishes -> DishCatalogSnapshot.of(versions.incrementAndGet(), dishes))
+                .cache(loaded -> Duration.ofMillis(Long.MAX_VALUE), error -> Duration.ZERO, () -> Duration.ZERO));
+    }
+}
@@ -0,0 +1,81 @@
+package uis.edu.co.food.reactive;
+
+import java.util.Date;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import reactor.core.publisher.Mono;
+import uis.edu.co.food.config.JwtUtil;
+import uis.edu.co.food.security.VerifiedTokenCache;
+import uis.edu.co.food.security.VerifiedTokenCache.VerifiedToken;
+
+/**
+ * Equivalente WebFlux de JwtAuthFilter. No es un bean: se registra solo dentro de la
+ * SecurityWebFilterChain para que no se ejecute dos veces.
+ */
+class ReactiveJwtAuthFilter implements WebFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveJwtAuthFilter.class);
+
+    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache tokenCache;
+
+    ReactiveJwtAuthFilter(JwtUtil jwtUtil, VerifiedTokenCache tokenCache) {
+        this.jwtUtil = jwtUtil;
+        this.tokenCache = tokenCache;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+
+        VerifiedToken verified;
+        try {
+            verified = verify(authHeader.substring(7));
+        } catch (JwtException e) {
+            // token inválido, expirado o firma fallida
+            log.debug("JWT inválido o expirado: {}", e.getMessage());
+            return chain.filter(exchange);
+        } catch (Exception e) {
+            log.warn("Error procesando JWT en filtro: {}", e.getMessage());
+            return chain.filter(exchange);
+        }
+
+        var authToken = new UsernamePasswordAuthenticationToken(
+                verified.username(),
+                null,
+                List.of(new SimpleGrantedAuthority(verified.role()))
+        );
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authToken));
+    }
+
+    private VerifiedToken verify(String token) {
+        VerifiedToken verified = tokenCache.get(token);
+        if (verified == null) {
+            Claims claims = jwtUtil.getAllClaims(token);
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                throw new JwtException("JWT sin fecha de expiración");
+            }
+            verified = new VerifiedToken(claims.getSubject(), claims.get("role", String.class), expiration.getTime());
+            tokenCache.put(token, verified);
+        }
+        return verified;
+    }
+}
@@ -0,0 +1,94 @@
+package uis.edu.co.food.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import uis.edu.co.food.models.Category;
+import uis.edu.co.food.repositories.CategoryRepository;
+
+class CategoryRegistryTests {
+
+	private final Map<String, Category> stored = new LinkedHashMap<>();
+	private final AtomicInteger loads = new AtomicInteger();
+	// Se ejecuta dentro de la primera carga, después de leer MongoDB
+	private Runnable duringFirstLoad = () -> {
+	};
+
+	private final CategoryRegistry registry = new CategoryRegistry((CategoryRepository) Proxy.newProxyInstance(
+			getClass().getClassLoader(), new Class<?>[] { CategoryRepository.class },
+			(proxy, method, args) -> {
+				if (!method.getName().equals("findAll") || args != null) {
+					throw new UnsupportedOperationException(method.getName());
+				}
+				List<Category> snapshot = new ArrayList<>(stored.values());
+				if (loads.incrementAndGet() == 1) {
+					duringFirstLoad.run();
+				}
+				return snapshot;
+			}));
+
+	private static Category category(String id, String name) {
+		Category category = new Category();
+		category.setId(id);
+		category.setName(name);
+		return category;
+	}
+
+	private void save(Category category) {
+		stored.put(category.getId(), category);
+		registry.put(category);
+	}
+
+	@Test
+	void toleratesCategoriesWithoutName() {
+		stored.put("1", category("1", null));
+		stored.put("2", category("2", "Postres"));
+
+		assertThat(registry.exists("Postres")).isTrue();
+		assertThat(registry.findAll()).hasSize(2);
+
+		save(category("1", "Bebidas"));
+		save(category("2", null));
+		assertThat(registry.exists("Bebidas")).isTrue();
+		assertThat(registry.exists("Postres")).isFalse();
+		registry.remove("2");
+		assertThat(registry.findAll()).extracting(Category::getName).containsExactly("Bebidas");
+	}
+
+	@Test
+	void reloadsWhenAWriteRacesTheLoad() {
+		stored.put("1", category("1", "Postres"));
+		duringFirstLoad = () -> {
+			save(category("2", "Bebidas"));
+			stored.remove("1");
+			registry.remove("1");
+		};
+
+		assertThat(registry.exists("Bebidas")).isTrue();
+		assertThat(registry.exists("Postres")).isFalse();
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void keepsWritesAfterTheLoad() {
+		stored.put("1", category("1", "Postres"));
+		long version = registry.version();
+
+		save(category("1", "Dulces"));
+		assertThat(registry.exists("Dulces")).isTrue();
+		assertThat(registry.exists("Postres")).isFalse();
+		assertThat(registry.version()).isGreaterThan(version);
+
+		registry.invalidate();
+		assertThat(registry.findAll()).extracting(Category::getName).containsExactly("Dulces");
+		assertThat(loads).hasValue(2);
+	}
+}
@@ -0,0 +1,141 @@
+package uis.edu.co.food.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import uis.edu.co.food.models.Dish;
+import uis.edu.co.food.repositories.DishPriceCount;
+import uis.edu.co.food.repositories.DishRepository;
+
+class DishFacetAggregatesTests {
+
+	private final Map<String, Dish> stored = new LinkedHashMap<>();
+	private final AtomicInteger countLoads = new AtomicInteger();
+	private final AtomicInteger streamLoads = new AtomicInteger();
+	// Se ejecuta dentro de la primera carga, después de leer MongoDB
+	private Runnable duringFirstLoad = () -> {
+	};
+
+	private final DishFacetAggregates aggregates = new DishFacetAggregates((DishRepository) Proxy.newProxyInstance(
+			getClass().getClassLoader(), new Class<?>[] { DishRepository.class },
+			(proxy, method, args) -> {
+				Object result = switch (method.getName()) {
+					case "countByCategoryAndPrice" -> {
+						countLoads.incrementAndGet();
+						yield counts();
+					}
+					case "streamPrices" -> {
+						streamLoads.incrementAndGet();
+						yield new ArrayList<>(stored.values()).stream();
+					}
+					default -> throw new UnsupportedOperationException(method.getName());
+				};
+				if (countLoads.get() + streamLoads.get() == 1) {
+					duringFirstLoad.run();
+				}
+				return result;
+			}), 5000);
+
+	private static Dish dish(String id, String category, Double price) {
+		Dish dish = new Dish();
+		dish.setId(id);
+		dish.setCategory(category);
+		dish.setPrice(price);
+		return dish;
+	}
+
+	private List<DishPriceCount> counts() {
+		Map<List<Object>, Long> groups = new LinkedHashMap<>();
+		stored.values().forEach(d -> groups.merge(Arrays.asList(d.getCategory(), d.getPrice()), 1L, Long::sum));
+		List<DishPriceCount> counts = new ArrayList<>();
+		groups.forEach((key, count) -> counts.add(new DishPriceCount((String) key.get(0), (Double) key.get(1), count)));
+		return counts;
+	}
+
+	private void save(Dish dish) {
+		stored.put(dish.getId(), dish);
+		aggregates.put(dish);
+	}
+
+	@Test
+	void readsOnlyAggregateCountsUntilTheFirstWrite() {
+		stored.put("1", dish("1", "Postres", 9000.0));
+		stored.put("2", dish("2", "Postres", 9000.0));
+		stored.put("3", dish("3", "Bebidas", null));
+
+		assertThat(aggregates.facets()).isEqualTo(aggregates.facetsOf(stored.values()));
+		aggregates.invalidate();
+		assertThat(aggregates.facets().getTotal()).isEqualTo(3);
+		assertThat(countLoads).hasValue(2);
+		assertThat(streamLoads).hasValue(0);
+	}
+
+	@Test
+	void incrementalUpdatesMatchAFreshAggregation() {
+		save(dish("1", "Postres", 9000.1));
+		aggregates.facets();
+
+		save(dish("2", "Postres", 12000.2));
+		save(dish("3", "Bebidas", 3500.3));
+		save(dish("4", "Bebidas", null));
+		assertThat(aggregates.facets()).isEqualTo(aggregates.facetsOf(stored.values()));
+
+		// Cambio de precio del extremo, cambio de categoría y borrado
+		save(dish("2", "Postres", 8000.7));
+		save(dish("1", "Bebidas", 9000.1));
+		stored.remove("3");
+		aggregates.remove("3");
+		assertThat(aggregates.facets()).isEqualTo(aggregates.facetsOf(stored.values()));
+
+		Dish moved = dish("5", "Entradas", 0.1);
+		stored.put("5", moved);
+		stored.remove("4");
+		Map<String, Dish> changes = new LinkedHashMap<>();
+		changes.put("5", moved);
+		changes.put("4", null);
+		aggregates.applyChanges(changes);
+		assertThat(aggregates.facets()).isEqualTo(aggregates.facetsOf(stored.values()));
+		// Con escrituras antes de la primera lectura se carga directamente por plato, una sola vez
+		assertThat(countLoads).hasValue(0);
+		assertThat(streamLoads).hasValue(1);
+	}
+
+	@Test
+	void averageDoesNotDriftAfterManyUpdates() {
+		save(dish("1", "Postres", 10.0));
+		aggregates.facets();
+
+		for (int i = 0; i < 1000; i++) {
+			save(dish("2", "Postres", 0.1 * i + 0.07));
+		}
+		save(dish("2", "Postres", 20.0));
+
+		assertThat(aggregates.facets().getAvgPrice()).isEqualTo(15.0);
+		assertThat(aggregates.facets().getCategories().get(0).getAvgPrice()).isEqualTo(15.0);
+	}
+
+	@Test
+	void writesDuringTheAggregationAreNotLost() {
+		stored.put("1", dish("1", "Postres", 9000.0));
+		// Escritura que llega mientras MongoDB agrega: la respuesta no se publica
+		duringFirstLoad = () -> save(dish("2", "Postres", 12000.0));
+
+		assertThat(aggregates.facets().getTotal()).isEqualTo(1);
+		assertThat(aggregates.facets().getTotal()).isEqualTo(2);
+		assertThat(countLoads).hasValue(1);
+		assertThat(streamLoads).hasValue(1);
+
+		aggregates.invalidate();
+		assertThat(aggregates.facets()).isEqualTo(aggregates.facetsOf(stored.values()));
+		assertThat(streamLoads).hasValue(2);
+	}
+}
@@ -0,0 +1,68 @@
+package uis.edu.co.food.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import uis.edu.co.food.models.Dish;
+
+class DishListResponseCacheTests {
+
+	private final AtomicInteger serializations = new AtomicInteger();
+
+	private List<Dish> dishes(String name) {
+		serializations.incrementAndGet();
+		Dish dish = new Dish();
+		dish.setId(name);
+		dish.setName(name);
+		return List.of(dish);
+	}
+
+	private static DishListResponseCache cache(DataSize maxSize) {
+		return new DishListResponseCache(new ObjectMapper(), new SimpleMeterRegistry(), maxSize);
+	}
+
+	@Test
+	void equivalentSearchesShareTheSameEntry() {
+		assertThat(DishListResponseCache.key(null, "Ensalada  CÉSAR"))
+				.isEqualTo(DishListResponseCache.key(null, "ensalada cesar"));
+		assertThat(DishListResponseCache.key(null, "de")).isNotEqualTo(DishListResponseCache.key(null, null));
+	}
+
+	@Test
+	void servesCachedBytesUntilTheVersionChanges() {
+		DishListResponseCache cache = cache(DataSize.ofMegabytes(1));
+
+		byte[] first = cache.json(1, "a", () -> dishes("a"));
+		assertThat(cache.json(1, "a", () -> dishes("a"))).isSameAs(first);
+		assertThat(serializations).hasValue(1);
+
+		cache.json(2, "a", () -> dishes("a"));
+		assertThat(serializations).hasValue(2);
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedWhenOverBudget() {
+		int entrySize = cache(DataSize.ofMegabytes(1)).json(1, "x", () -> dishes("a")).length;
+		DishListResponseCache cache = cache(DataSize.ofBytes(entrySize * 2L));
+		serializations.set(0);
+
+		cache.json(1, "a", () -> dishes("a"));
+		cache.json(1, "b", () -> dishes("b"));
+		cache.json(1, "a", () -> dishes("a")); // "b" queda como la menos usada
+		cache.json(1, "c", () -> dishes("c"));
+		assertThat(serializations).hasValue(3);
+
+		cache.json(1, "a", () -> dishes("a"));
+		assertThat(serializations).hasValue(3);
+		cache.json(1, "b", () -> dishes("b"));
+		assertThat(serializations).hasValue(4);
+	}
+}
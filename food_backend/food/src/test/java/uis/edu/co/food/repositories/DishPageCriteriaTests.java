@@ -0,0 +1,48 @@
+package uis.edu.co.food.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+class DishPageCriteriaTests {
+
+	private static final String ID = "64b7f0c2a1b2c3d4e5f60718";
+
+	private static Document after(String field, boolean descending, Object value) {
+		DishPageQuery query = new DishPageQuery();
+		query.setSortField(field);
+		query.setDescending(descending);
+		query.setAfterValue(value);
+		query.setAfterId(ID);
+		return DishRepositoryImpl.after(query).getCriteriaObject();
+	}
+
+	private static Document doc(String json) {
+		return Document.parse(json.replace("ID", "{\"$oid\": \"" + ID + "\"}"));
+	}
+
+	@Test
+	void idOnlyOrderComparesTheId() {
+		assertThat(after("_id", false, null)).isEqualTo(new Document("_id", new Document("$gt", new ObjectId(ID))));
+		assertThat(after("_id", true, null)).isEqualTo(new Document("_id", new Document("$lt", new ObjectId(ID))));
+	}
+
+	@Test
+	void valuesContinueWithTiesAndNullsWhereMongoSortsThem() {
+		assertThat(after("price", false, 10.0)).isEqualTo(doc(
+				"{$or: [{price: {$gt: 10.0}}, {price: 10.0, _id: {$gt: ID}}]}"));
+		// En descendente los null van al final
+		assertThat(after("price", true, 10.0)).isEqualTo(doc(
+				"{$or: [{price: {$lt: 10.0}}, {price: 10.0, _id: {$lt: ID}}, {price: null}]}"));
+	}
+
+	@Test
+	void nullCursorValueOnlyMovesPastTheOtherNulls() {
+		// En ascendente los null van primero: después vienen el resto de null y todos los valores
+		assertThat(after("price", false, null)).isEqualTo(doc(
+				"{$or: [{price: null, _id: {$gt: ID}}, {price: {$ne: null}}]}"));
+		assertThat(after("price", true, null)).isEqualTo(doc("{price: null, _id: {$lt: ID}}"));
+	}
+}
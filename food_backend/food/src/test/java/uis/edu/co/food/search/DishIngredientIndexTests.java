@@ -0,0 +1,44 @@
+package uis.edu.co.food.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import uis.edu.co.food.models.Dish;
+
+class DishIngredientIndexTests {
+
+	private static Dish dish(String id, String category, double price, String... ingredientes) {
+		Dish dish = new Dish();
+		dish.setId(id);
+		dish.setCategory(category);
+		dish.setPrice(price);
+		dish.setIngredientes(List.of(ingredientes));
+		return dish;
+	}
+
+	private final DishIngredientIndex index = DishIngredientIndex.build(List.of(
+			dish("1", "Comida rápida", 18000, "Pan", "Carne", "Queso"),
+			dish("2", "Saludable", 15000, "Lechuga", "Pollo", "Queso parmesano"),
+			dish("3", "Postres", 9000, "Maní", "Chocolate"),
+			dish("4", "Comida rápida", 7000, "Papa", "Sal")));
+
+	private List<String> ids(String category, DishFilter filter) {
+		return index.select(index.matching(category, filter)).stream().map(Dish::getId).toList();
+	}
+
+	@Test
+	void includesAndExcludesIgnoringCaseAndAccents() {
+		assertThat(ids(null, DishFilter.of("QUESO", null, null, null))).containsExactly("1");
+		assertThat(ids(null, DishFilter.of(null, "mani, queso parmesano", null, null))).containsExactly("1", "4");
+	}
+
+	@Test
+	void combinesCategoryAndInclusivePriceRange() {
+		assertThat(ids(null, DishFilter.of(null, null, 9000.0, 18000.0))).containsExactly("1", "2", "3");
+		assertThat(ids("Comida rápida", DishFilter.of(null, "carne", null, 10000.0))).containsExactly("4");
+		assertThat(ids(null, DishFilter.of("desconocido", null, null, null))).isEmpty();
+	}
+}
@@ -0,0 +1,48 @@
+package uis.edu.co.food.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import uis.edu.co.food.models.Dish;
+
+class DishSearchIndexTests {
+
+	private static Dish dish(String id, String name, String category, String description) {
+		Dish dish = new Dish();
+		dish.setId(id);
+		dish.setName(name);
+		dish.setCategory(category);
+		dish.setDescription(description);
+		return dish;
+	}
+
+	private final DishSearchIndex index = DishSearchIndex.build(List.of(
+			dish("1", "Hamburguesa BBQ", "Comida rápida", "Carne de res con salsa barbacoa"),
+			dish("2", "Ensalada César", "Saludable", "Lechuga, pollo y aderezo césar"),
+			dish("3", "Pollo asado", "Platos fuertes", "Pollo al carbón con papas"),
+			dish("4", "Papas fritas", "Comida rápida", "Porción de papas con sal")));
+
+	@Test
+	void foldsAccentsAndCase() {
+		assertThat(index.search("CESAR", null)).extracting(Dish::getId).containsExactly("2");
+	}
+
+	@Test
+	void matchesPrefixes() {
+		assertThat(index.search("hambur", null)).extracting(Dish::getId).containsExactly("1");
+	}
+
+	@Test
+	void ranksNameMatchesBeforeDescriptionMatches() {
+		assertThat(index.search("pollo", null)).extracting(Dish::getId).containsExactly("3", "2");
+	}
+
+	@Test
+	void requiresEveryTermAndFiltersByCategory() {
+		assertThat(index.search("papas fritas", null)).extracting(Dish::getId).containsExactly("4");
+		assertThat(index.search("papas", "Comida rápida")).extracting(Dish::getId).containsExactly("4");
+	}
+}
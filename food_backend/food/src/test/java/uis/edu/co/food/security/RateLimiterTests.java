@@ -0,0 +1,41 @@
+package uis.edu.co.food.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTests {
+
+	private final AtomicLong now = new AtomicLong();
+	private final RateLimiter limiter = new RateLimiter(Duration.ofMinutes(10), 100, now::get);
+	private final RateLimiter.Policy policy = new RateLimiter.Policy("login", 3, Duration.ofSeconds(3));
+
+	@Test
+	void allowsBurstThenReportsWaitUntilNextToken() {
+		assertThat(limiter.tryAcquire(policy, "a")).isZero();
+		assertThat(limiter.tryAcquire(policy, "a")).isZero();
+		assertThat(limiter.tryAcquire(policy, "a")).isZero();
+		assertThat(limiter.tryAcquire(policy, "a")).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+		// Otro cliente tiene su propio cubo
+		assertThat(limiter.tryAcquire(policy, "b")).isZero();
+
+		now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+		assertThat(limiter.tryAcquire(policy, "a")).isZero();
+		assertThat(limiter.tryAcquire(policy, "a")).isPositive();
+	}
+
+	@Test
+	void evictsIdleClients() {
+		limiter.tryAcquire(policy, "a");
+		limiter.tryAcquire(policy, "b");
+		assertThat(limiter.size()).isEqualTo(2);
+
+		now.addAndGet(TimeUnit.MINUTES.toNanos(11));
+		limiter.tryAcquire(policy, "c");
+		assertThat(limiter.size()).isEqualTo(1);
+	}
+}
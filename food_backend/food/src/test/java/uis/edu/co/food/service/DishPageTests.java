@@ -0,0 +1,69 @@
+package uis.edu.co.food.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import uis.edu.co.food.models.Dish;
+import uis.edu.co.food.repositories.DishPageQuery;
+
+class DishPageTests {
+
+	private static Dish dish(String id, Double price, LocalDateTime createdAt) {
+		Dish dish = new Dish();
+		dish.setId(id);
+		dish.setName("Plato " + id);
+		dish.setPrice(price);
+		dish.setCreatedAt(createdAt);
+		return dish;
+	}
+
+	private static DishPageQuery decode(String cursor, String sortKey, String sortName) {
+		DishPageQuery query = new DishPageQuery();
+		DishService.decodeCursor(cursor, sortKey, sortName, query);
+		return query;
+	}
+
+	@Test
+	void cursorCarriesTheTypedSortValueAndId() {
+		LocalDateTime createdAt = LocalDateTime.of(2026, 1, 31, 12, 30, 15, 123_000_000);
+		Dish last = dish("b", 12000.5, createdAt);
+
+		DishPageQuery byPrice = decode(DishService.encodeCursor("-price", "price", last), "-price", "price");
+		assertThat(byPrice.getAfterValue()).isEqualTo(12000.5);
+		assertThat(byPrice.getAfterId()).isEqualTo("b");
+
+		DishPageQuery byDate = decode(DishService.encodeCursor("createdAt", "createdAt", last), "createdAt", "createdAt");
+		assertThat(byDate.getAfterValue()).isEqualTo(createdAt);
+
+		// Un nombre con el separador no rompe el cursor: el id va tras el último
+		last.setName("Arroz | pollo");
+		assertThat(decode(DishService.encodeCursor("name", "name", last), "name", "name").getAfterValue())
+				.isEqualTo("Arroz | pollo");
+	}
+
+	@Test
+	void nullSortValuesAndForeignCursorsAreHandled() {
+		String cursor = DishService.encodeCursor("price", "price", dish("a", null, null));
+		DishPageQuery query = decode(cursor, "price", "price");
+		assertThat(query.getAfterValue()).isNull();
+		assertThat(query.getAfterId()).isEqualTo("a");
+
+		assertThatThrownBy(() -> decode(cursor, "-price", "price")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> decode("no es un cursor", "price", "price")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void projectionReturnsOnlyRequestedFieldsWithValue() {
+		assertThat(DishService.parseFields(" id, price,name ")).containsExactly("_id", "price", "name");
+		assertThat(DishService.parseFields(null)).isEmpty();
+		assertThatThrownBy(() -> DishService.parseFields("id,version")).isInstanceOf(IllegalArgumentException.class);
+
+		assertThat(DishService.project(dish("a", null, null), DishService.parseFields("id,price,name")))
+				.containsExactly(Map.entry("id", "a"), Map.entry("name", "Plato a"));
+	}
+}